@@ -0,0 +1,53 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import javax.annotation.Nonnull;
+import java.io.OutputStream;
+
+/**
+ * Implemented by response streams (see {@link Context#responseStream()}) that can be aborted when
+ * response generation fails half way (like a serialization error):
+ *
+ * <pre>{@code
+ *   OutputStream output = ctx.responseStream();
+ *   try {
+ *     write(output, value);
+ *   } catch (Throwable x) {
+ *     Abortable.abort(output, x);
+ *     throw x;
+ *   }
+ *   output.close();
+ * }</pre>
+ *
+ * An aborted stream releases its buffers. If nothing was sent to the client yet, the response
+ * is not started and the error handler is able to produce an error response. Otherwise, the
+ * connection is closed so the client never sees a truncated response as a complete one.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public interface Abortable {
+
+  /**
+   * Abort the response. Calling this method on a closed (or aborted) stream has no effect.
+   *
+   * @param cause Failure.
+   */
+  void abort(@Nonnull Throwable cause);
+
+  /**
+   * Abort the given stream if it is {@link Abortable}. Otherwise, the stream is left open.
+   *
+   * @param output Response stream.
+   * @param cause Failure.
+   */
+  static void abort(@Nonnull OutputStream output, @Nonnull Throwable cause) {
+    if (output instanceof Abortable) {
+      ((Abortable) output).abort(cause);
+    }
+  }
+}
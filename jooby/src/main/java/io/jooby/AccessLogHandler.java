@@ -5,6 +5,7 @@
  */
 package io.jooby;
 
+import io.jooby.internal.AsyncLogWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -122,6 +123,30 @@ import static java.util.Objects.requireNonNull;
  * It add a new entry at the last of the <code>NCSA</code> output that represents the number of
  * <code>ms</code> it took to process the incoming release.
  *
+ * <h2>async</h2>
+ * <p>
+ * By default the log function runs on the thread that completes the response. The
+ * {@link #async()} mode hands each line to a bounded ring buffer, drained in batches by a
+ * dedicated thread, so request threads don't contend on the logger lock:
+ * </p>
+ *
+ * <pre>{@code
+ * {
+ *   decorator(new AccessLogHandler().async());
+ * }
+ * }</pre>
+ *
+ * <p>
+ * When the buffer is full, lines are dropped and counted by {@link #getDroppedRecords()}. Use
+ * {@link #async(int, boolean)} to set the buffer size and to block instead of drop. Pending
+ * lines are flushed when the application stops.
+ * </p>
+ *
+ * <p>
+ * The log function and async mode are read when the first line is logged. Changing them after
+ * that results in {@link IllegalStateException}.
+ * </p>
+ *
  * <h2>request and response headers</h2>
  * <p>
  * You can add extra headers using the {@link AccessLogHandler#requestHeader(String...)} and
@@ -161,7 +186,7 @@ import static java.util.Objects.requireNonNull;
  * @author edgar
  * @since 2.5.2
  */
-public class AccessLogHandler implements Route.Decorator {
+public class AccessLogHandler implements Route.Decorator, AutoCloseable {
   private static final String USER_AGENT = "User-Agent";
 
   private static final String REFERER = "Referer";
@@ -183,6 +208,9 @@ public class AccessLogHandler implements Route.Decorator {
   /** Default buffer size. */
   private static final int MESSAGE_SIZE = 256;
 
+  /** Default number of pending records in async mode. */
+  private static final int ASYNC_BUFFER_SIZE = 8192;
+
   /** The logging system. */
   private final Logger log = LoggerFactory.getLogger(getClass());
 
@@ -192,10 +220,30 @@ public class AccessLogHandler implements Route.Decorator {
 
   private Function<Long, String> df;
 
+  private int asyncBufferSize;
+
+  private boolean asyncBlock;
+
+  private AsyncLogWriter writer;
+
+  /** Log function in use, set on first log line. */
+  private volatile Consumer<String> sink;
+
   private List<String> requestHeaders = Collections.emptyList();
 
   private List<String> responseHeaders = Collections.emptyList();
 
+  private static class CachedDate {
+    private final long seconds;
+
+    private final String value;
+
+    CachedDate(long seconds, String value) {
+      this.seconds = seconds;
+      this.value = value;
+    }
+  }
+
   /**
    * Creates a new {@link AccessLogHandler} and use the given function and userId provider. Please
    * note, if the user isn't present this function is allowed to returns <code>-</code> (dash
@@ -205,7 +253,7 @@ public class AccessLogHandler implements Route.Decorator {
    */
   public AccessLogHandler(@Nonnull Function<Context, String> userId) {
     this.userId = requireNonNull(userId, "User ID provider required.");
-    dateFormatter(FORMATTER);
+    dateFormatter(ZoneId.systemDefault());
   }
 
   /**
@@ -216,8 +264,8 @@ public class AccessLogHandler implements Route.Decorator {
   }
 
   @Nonnull @Override public Route.Handler apply(@Nonnull Route.Handler next) {
-    long timestamp = System.currentTimeMillis();
     return ctx -> {
+      long timestamp = System.currentTimeMillis();
       ctx.onComplete(context -> {
         StringBuilder sb = new StringBuilder(MESSAGE_SIZE);
         sb.append(ctx.getRemoteAddress());
@@ -242,12 +290,38 @@ public class AccessLogHandler implements Route.Decorator {
         sb.append(now - timestamp);
         appendHeaders(sb, requestHeaders, h -> ctx.header(h).valueOrNull());
         appendHeaders(sb, responseHeaders, h -> ctx.getResponseHeader(h));
-        logRecord.accept(sb.toString());
+        sink(ctx).accept(sb.toString());
       });
       return next.apply(ctx);
     };
   }
 
+  private Consumer<String> sink(Context ctx) {
+    Consumer<String> sink = this.sink;
+    return sink == null ? newSink(ctx.getRouter()) : sink;
+  }
+
+  private synchronized Consumer<String> newSink(Router router) {
+    if (sink == null) {
+      if (asyncBufferSize > 0) {
+        writer = new AsyncLogWriter(logRecord, asyncBufferSize, asyncBlock);
+        if (router instanceof Jooby) {
+          ((Jooby) router).onStop(this);
+        }
+        sink = writer;
+      } else {
+        sink = logRecord;
+      }
+    }
+    return sink;
+  }
+
+  private void checkNotInUse() {
+    if (sink != null) {
+      throw new IllegalStateException("Access log is in use, it can't be reconfigured");
+    }
+  }
+
   private void appendHeaders(StringBuilder buff, List<String> requestHeaders,
       Function<String, String> headers) {
     for (String header : requestHeaders) {
@@ -274,11 +348,59 @@ public class AccessLogHandler implements Route.Decorator {
    * @param log Log callback.
    * @return This instance.
    */
-  public @Nonnull AccessLogHandler log(@Nonnull Consumer<String> log) {
+  public synchronized @Nonnull AccessLogHandler log(@Nonnull Consumer<String> log) {
+    checkNotInUse();
     this.logRecord = requireNonNull(log, "Consumer is required.");
     return this;
   }
 
+  /**
+   * Log NCSA lines from a dedicated thread. Lines are handed off to a bounded buffer of
+   * <code>8192</code> entries and dropped when the buffer is full.
+   *
+   * @return This instance.
+   */
+  public @Nonnull AccessLogHandler async() {
+    return async(ASYNC_BUFFER_SIZE, false);
+  }
+
+  /**
+   * Log NCSA lines from a dedicated thread. Lines are handed off to a bounded buffer and
+   * written in batches.
+   *
+   * @param bufferSize Max number of pending lines. Rounded up to a power of two.
+   * @param block When the buffer is full: true to wait for free space, false to drop the line.
+   * @return This instance.
+   */
+  public synchronized @Nonnull AccessLogHandler async(int bufferSize, boolean block) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+    checkNotInUse();
+    this.asyncBufferSize = bufferSize;
+    this.asyncBlock = block;
+    return this;
+  }
+
+  /**
+   * Number of lines dropped in async mode because the buffer was full.
+   *
+   * @return Number of dropped lines.
+   */
+  public synchronized long getDroppedRecords() {
+    return writer == null ? 0 : writer.getDropped();
+  }
+
+  /**
+   * Flush pending lines and stop the async writer (if any). Called automatically when the
+   * application stops.
+   */
+  @Override public synchronized void close() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
   /**
    * Override the default date formatter.
    *
@@ -308,7 +430,21 @@ public class AccessLogHandler implements Route.Decorator {
    * @return This instance.
    */
   public @Nonnull AccessLogHandler dateFormatter(@Nonnull ZoneId zoneId) {
-    return dateFormatter(FORMATTER.withZone(zoneId));
+    // default format has second precision: format once per second
+    DateTimeFormatter formatter = FORMATTER.withZone(zoneId);
+    return dateFormatter(new Function<Long, String>() {
+      private volatile CachedDate cached = new CachedDate(Long.MIN_VALUE, null);
+
+      @Override public String apply(Long timestamp) {
+        long seconds = timestamp / 1000;
+        CachedDate date = cached;
+        if (date.seconds != seconds) {
+          date = new CachedDate(seconds, formatter.format(Instant.ofEpochSecond(seconds)));
+          cached = date;
+        }
+        return date.value;
+      }
+    });
   }
 
   /**
@@ -5,7 +5,12 @@
  */
 package io.jooby;
 
+import io.jooby.internal.AssetCache;
+import io.jooby.internal.CachedAsset;
+import io.jooby.internal.FileAsset;
+
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -34,6 +39,10 @@ public class AssetHandler implements Route.Handler {
 
   private Function<String, CacheControl> cacheControl = path -> defaults;
 
+  private AssetCache cache;
+
+  private Boolean dev;
+
   /**
    * Creates a new asset handler that fallback to the given fallback asset when the asset
    * is not found. Instead of produces a <code>404</code> its fallback to the given asset.
@@ -66,10 +75,10 @@ public class AssetHandler implements Route.Handler {
   @Nonnull @Override public Object apply(@Nonnull Context ctx) throws Exception {
     final String resolvedPath;
     String filepath = ctx.pathMap().getOrDefault(filekey, "index.html");
-    Asset asset = resolve(filepath);
+    Asset asset = resolve(ctx, filepath);
     if (asset == null) {
       if (fallback != null) {
-        asset = resolve(fallback);
+        asset = resolve(ctx, fallback);
       }
       // Still null?
       if (asset == null) {
@@ -84,15 +93,27 @@ public class AssetHandler implements Route.Handler {
 
     CacheControl cacheParams = cacheControl.apply(resolvedPath);
 
+    // Cached variant: byte ranges are served from the identity content
+    CachedAsset cached = asset instanceof CachedAsset ? (CachedAsset) asset : null;
+    String range = ctx.header("Range").valueOrNull();
+    String encoding = null;
+    if (cached != null && cached.isCompressed()) {
+      ctx.setResponseHeader("Vary", "Accept-Encoding");
+      if (range == null) {
+        encoding = cached.encoding(ctx.header("Accept-Encoding").valueOrNull());
+      }
+    }
+
     // handle If-None-Match
     if (cacheParams.isEtag()) {
+      String etag = cached == null ? asset.getEtag() : cached.getEtag(encoding);
       String ifnm = ctx.header("If-None-Match").value((String) null);
-      if (ifnm != null && ifnm.equals(asset.getEtag())) {
+      if (ifnm != null && ifnm.equals(etag)) {
         ctx.send(StatusCode.NOT_MODIFIED);
         asset.close();
         return ctx;
       } else {
-        ctx.setResponseHeader("ETag", asset.getEtag());
+        ctx.setResponseHeader("ETag", etag);
       }
     }
 
@@ -117,11 +138,26 @@ public class AssetHandler implements Route.Handler {
       ctx.setResponseHeader("Cache-Control", "no-store, must-revalidate");
     }
 
+    if (cached != null) {
+      if (encoding != null) {
+        ctx.setResponseHeader("Content-Encoding", encoding);
+      }
+      byte[] content = cached.content(encoding);
+      ctx.setResponseLength(content.length);
+      ctx.setResponseType(asset.getContentType());
+      ByteRange byteRange = ByteRange.parse(range, content.length).apply(ctx);
+      return ctx.send(ByteBuffer.wrap(content, (int) byteRange.getStart(),
+          (int) byteRange.getContentLength()));
+    }
+
     long length = asset.getSize();
     if (length != -1) {
       ctx.setResponseLength(length);
     }
     ctx.setResponseType(asset.getContentType());
+    if (asset instanceof FileAsset) {
+      return ctx.send(((FileAsset) asset).channel());
+    }
     return ctx.send(asset.stream());
   }
 
@@ -193,6 +229,61 @@ public class AssetHandler implements Route.Handler {
     return this;
   }
 
+  /**
+   * Keep assets in memory, up to <code>maxSize</code> bytes. Cached assets are served from memory
+   * with a precomputed e-tag and compressed variants: precompressed siblings (like
+   * <code>app.js.br</code> or <code>app.js.gz</code>) when present, or gzip computed once for
+   * textual assets. Variants are selected using the <code>Accept-Encoding</code> header.
+   *
+   * Least recently used assets are evicted when the cache is full. In development mode, cached
+   * assets are reloaded when they change.
+   *
+   * @param maxSize Max number of bytes to keep in memory, including compressed variants.
+   * @return This handler.
+   */
+  public AssetHandler setCacheSize(long maxSize) {
+    this.cache = maxSize > 0 ? new AssetCache(maxSize) : null;
+    return this;
+  }
+
+  private Asset resolve(Context ctx, String filepath) {
+    if (cache == null) {
+      return resolve(filepath);
+    }
+    CachedAsset cached = cache.get(filepath);
+    if (cached != null) {
+      if (!isDev(ctx)) {
+        return cached;
+      }
+      Asset asset = resolve(filepath);
+      if (asset != null && asset.getLastModified() == cached.getLastModified()
+          && asset.getSize() == cached.getSize()) {
+        close(asset);
+        return cached;
+      }
+      // changed or deleted
+      cache.remove(filepath);
+      return asset == null ? null : cache.put(filepath, asset, this::resolve);
+    }
+    Asset asset = resolve(filepath);
+    return asset == null ? null : cache.put(filepath, asset, this::resolve);
+  }
+
+  private boolean isDev(Context ctx) {
+    if (dev == null) {
+      dev = ctx.getRouter().getEnvironment().isActive("dev");
+    }
+    return dev;
+  }
+
+  private static void close(Asset asset) {
+    try {
+      asset.close();
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   private Asset resolve(String filepath) {
     for (AssetSource source : sources) {
       Asset asset = source.resolve(filepath);
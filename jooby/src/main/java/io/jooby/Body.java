@@ -13,6 +13,7 @@ import io.jooby.internal.InputStreamBody;
 import javax.annotation.Nonnull;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
@@ -52,6 +53,16 @@ public interface Body extends ValueNode {
    */
   @Nonnull byte[] bytes();
 
+  /**
+   * HTTP body as byte buffer. Server implementations might return a read-only view over the
+   * request buffers, in which case no copy is made.
+   *
+   * @return Body as byte buffer.
+   */
+  default @Nonnull ByteBuffer byteBuffer() {
+    return ByteBuffer.wrap(bytes());
+  }
+
   /**
    * True if body is on memory. False, indicates body is on file system. Body larger than
    * {@link ServerOptions#getMaxRequestSize()} will be dump to disk.
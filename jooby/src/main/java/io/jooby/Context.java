@@ -1441,6 +1441,23 @@ public interface Context extends Registry {
    * @return Read only context.
    */
   static @Nonnull Context websocket(@Nonnull Context ctx, @Nonnull WebSocket ws) {
-    return new WebSocketSender(ctx, ws);
+    return websocket(ctx, ws, false);
+  }
+
+  /**
+   * Wrap a HTTP context and make it WebSocket friendly. Like {@link #websocket(Context, WebSocket)}
+   * but encoded messages are sent to all the clients connected to the web socket path when
+   * <code>broadcast</code> is true. Values are encoded once, not once per client.
+   *
+   * This method is part of Public API, but direct usage is discourage.
+   *
+   * @param ctx Originating context.
+   * @param ws WebSocket.
+   * @param broadcast True to send encoded messages to all connected clients.
+   * @return Read only context.
+   */
+  static @Nonnull Context websocket(@Nonnull Context ctx, @Nonnull WebSocket ws,
+      boolean broadcast) {
+    return new WebSocketSender(ctx, ws, broadcast);
   }
 }
@@ -9,8 +9,6 @@ import com.typesafe.config.Config;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
@@ -19,12 +17,12 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -41,6 +39,11 @@ public class Cookie {
   /** Algorithm name. */
   public static final String HMAC_SHA256 = "HmacSHA256";
 
+  /** Max number of cached signers, see {@link #sign(String, String)}. */
+  private static final int MAX_SIGNERS = 16;
+
+  private static final Map<String, CookieSigner> SIGNERS = new ConcurrentHashMap<>();
+
   private static final DateTimeFormatter fmt = DateTimeFormatter
       .ofPattern("EEE, dd-MMM-yyyy HH:mm:ss z", Locale.US)
       .withZone(ZoneId.of("GMT"));
@@ -439,7 +442,7 @@ public class Cookie {
 
   /**
    * Sign a value using a secret key. A value and secret key are required. Sign is done with
-   * {@link #HMAC_SHA256}.
+   * {@link #HMAC_SHA256}, see {@link CookieSigner}.
    * Signed value looks like:
    *
    * <pre>
@@ -451,14 +454,7 @@ public class Cookie {
    * @return A signed value.
    */
   public static @Nonnull String sign(final @Nonnull String value, final @Nonnull String secret) {
-    try {
-      Mac mac = Mac.getInstance(HMAC_SHA256);
-      mac.init(new SecretKeySpec(secret.getBytes(), HMAC_SHA256));
-      byte[] bytes = mac.doFinal(value.getBytes());
-      return Base64.getEncoder().withoutPadding().encodeToString(bytes) + "|" + value;
-    } catch (Exception x) {
-      throw SneakyThrows.propagate(x);
-    }
+    return signer(secret).sign(value);
   }
 
   /**
@@ -470,12 +466,20 @@ public class Cookie {
    * @return A new signed value or null.
    */
   public static @Nullable String unsign(final @Nonnull String value, final @Nonnull String secret) {
-    int sep = value.indexOf("|");
-    if (sep <= 0) {
-      return null;
+    return signer(secret).unsign(value);
+  }
+
+  private static CookieSigner signer(String secret) {
+    CookieSigner signer = SIGNERS.get(secret);
+    if (signer == null) {
+      if (SIGNERS.size() >= MAX_SIGNERS) {
+        // don't grow forever when secrets are generated on the fly
+        SIGNERS.clear();
+      }
+      signer = new CookieSigner(secret);
+      SIGNERS.put(secret, signer);
     }
-    String str = value.substring(sep + 1);
-    return sign(str, secret).equals(value) ? str : null;
+    return signer;
   }
 
   /**
@@ -493,9 +497,9 @@ public class Cookie {
       StringBuilder joiner = new StringBuilder();
       String enc = StandardCharsets.UTF_8.name();
       for (Map.Entry<String, String> attribute : attributes.entrySet()) {
-        joiner.append(URLEncoder.encode(attribute.getKey(), enc))
-            .append('=')
-            .append(URLEncoder.encode(attribute.getValue(), enc))
+        encode(joiner, attribute.getKey(), enc)
+            .append('=');
+        encode(joiner, attribute.getValue(), enc)
             .append('&');
       }
       if (joiner.length() > 0) {
@@ -507,6 +511,20 @@ public class Cookie {
     }
   }
 
+  private static StringBuilder encode(StringBuilder buffer, String value, String enc)
+      throws UnsupportedEncodingException {
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      boolean safe = (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')
+          || (ch >= '0' && ch <= '9') || ch == '.' || ch == '-' || ch == '*' || ch == '_';
+      if (!safe) {
+        return buffer.append(URLEncoder.encode(value, enc));
+      }
+    }
+    // nothing to escape
+    return buffer.append(value);
+  }
+
   /**
    * Decode a cookie value using, like: <code>k=v</code>, multiple <code>k=v</code> pair are
    * separated by <code>&amp;</code>. Also, <code>k</code> and <code>v</code> are decoded using
@@ -0,0 +1,145 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Sign and verify cookie values using {@link Cookie#HMAC_SHA256}. Signed values look like:
+ *
+ * <pre>
+ *   [signature] '|' [raw value]
+ * </pre>
+ *
+ * Keys are computed once and {@link Mac} instances are cached per thread, so signing doesn't
+ * allocate a new {@link Mac} per call. Verification runs in constant time.
+ *
+ * Supports key rotation: values are signed with the current secret and verified with the current
+ * secret or any of the previous secrets:
+ *
+ * <pre>{@code
+ * {
+ *   CookieSigner signer = new CookieSigner(newSecret, oldSecret);
+ *
+ *   setSessionStore(SessionStore.signed(signer, SessionToken.signedCookie(SessionToken.SID)));
+ * }
+ * }</pre>
+ *
+ * Instances are thread-safe.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class CookieSigner {
+
+  private static class Key extends ThreadLocal<Mac> {
+    private final SecretKeySpec spec;
+
+    Key(String secret) {
+      this.spec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Cookie.HMAC_SHA256);
+    }
+
+    @Override protected Mac initialValue() {
+      try {
+        Mac mac = Mac.getInstance(Cookie.HMAC_SHA256);
+        mac.init(spec);
+        return mac;
+      } catch (Exception x) {
+        throw SneakyThrows.propagate(x);
+      }
+    }
+
+    byte[] signature(String value) {
+      byte[] bytes = get().doFinal(value.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().withoutPadding().encode(bytes);
+    }
+  }
+
+  private final Key[] keys;
+
+  /**
+   * Creates a new signer.
+   *
+   * @param secret Secret used for signing and verifying values.
+   * @param previousSecrets Previous secrets, only used for verifying values.
+   */
+  public CookieSigner(@Nonnull String secret, @Nonnull String... previousSecrets) {
+    this(secret, Arrays.asList(previousSecrets));
+  }
+
+  /**
+   * Creates a new signer.
+   *
+   * @param secret Secret used for signing and verifying values.
+   * @param previousSecrets Previous secrets, only used for verifying values.
+   */
+  public CookieSigner(@Nonnull String secret, @Nonnull List<String> previousSecrets) {
+    List<Key> keys = new ArrayList<>(previousSecrets.size() + 1);
+    keys.add(new Key(secret));
+    for (String previous : previousSecrets) {
+      keys.add(new Key(previous));
+    }
+    this.keys = keys.toArray(new Key[keys.size()]);
+  }
+
+  /**
+   * Sign a value using the current secret.
+   *
+   * @param value A value to sign.
+   * @return A signed value.
+   */
+  public @Nonnull String sign(@Nonnull String value) {
+    byte[] signature = keys[0].signature(value);
+    StringBuilder buffer = new StringBuilder(signature.length + 1 + value.length());
+    for (byte b : signature) {
+      buffer.append((char) b);
+    }
+    return buffer.append('|').append(value).toString();
+  }
+
+  /**
+   * Verify a value previously signed with {@link #sign(String)} (current or previous secrets).
+   *
+   * @param value A signed value.
+   * @return Raw value or <code>null</code> for invalid signatures.
+   */
+  public @Nullable String unsign(@Nonnull String value) {
+    int sep = value.indexOf('|');
+    if (sep <= 0) {
+      return null;
+    }
+    String raw = value.substring(sep + 1);
+    for (Key key : keys) {
+      if (matches(key.signature(raw), value, sep)) {
+        return raw;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Constant time comparison of the expected signature against the first <code>len</code>
+   * characters of the signed value.
+   */
+  private static boolean matches(byte[] expected, String value, int len) {
+    if (expected.length != len) {
+      return false;
+    }
+    int result = 0;
+    for (int i = 0; i < len; i++) {
+      result |= expected[i] ^ value.charAt(i);
+    }
+    return result == 0;
+  }
+}
@@ -208,7 +208,7 @@ public interface DefaultContext extends Context {
   }
 
   @Override default MediaType accept(@Nonnull List<MediaType> produceTypes) {
-    List<MediaType> acceptTypes = MediaType.parse(header(ACCEPT).valueOrNull());
+    List<MediaType> acceptTypes = MediaType.cachedParse(header(ACCEPT).valueOrNull());
     MediaType result = null;
     for (MediaType acceptType : acceptTypes) {
       for (MediaType produceType : produceTypes) {
@@ -432,13 +432,18 @@ public interface DefaultContext extends Context {
     try {
       Route route = getRoute();
       MessageEncoder encoder = route.getEncoder();
-      byte[] bytes = encoder.encode(this, value);
-      if (bytes == null) {
-        if (!isResponseStarted()) {
-          throw new IllegalStateException("The response was not encoded");
+      if (isInIoThread()) {
+        // response stream is blocking and not available on IO threads: encode in memory
+        byte[] bytes = encoder.encode(this, value);
+        if (bytes == null) {
+          if (!isResponseStarted()) {
+            throw new IllegalStateException("The response was not encoded");
+          }
+        } else {
+          send(bytes);
         }
-      } else {
-        send(bytes);
+      } else if (!encoder.send(this, value)) {
+        throw new IllegalStateException("The response was not encoded");
       }
       return this;
     } catch (Exception x) {
@@ -83,6 +83,9 @@ public class Jooby implements Router, Registry {
 
   private static final String JOOBY_RUN_HOOK = "___jooby_run_hook__";
 
+  /** Set while generating the route index. See RouteIndex. */
+  private static final String ROUTE_INDEX_HOOK = "___jooby_route_index__";
+
   private final transient AtomicBoolean started = new AtomicBoolean(true);
 
   private RouterImpl router;
@@ -427,7 +430,7 @@ public class Jooby implements Router, Registry {
    * @return This application.
    */
   @Nonnull public Jooby install(@Nonnull Extension extension) {
-    if (lateInit || extension.lateinit()) {
+    if (lateInit || extension.lateinit() || System.getProperty(ROUTE_INDEX_HOOK) != null) {
       onStarting(() -> extension.install(this));
     } else {
       try {
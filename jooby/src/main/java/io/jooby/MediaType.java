@@ -13,6 +13,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BinaryOperator;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -63,6 +65,9 @@ public final class MediaType implements Comparable<MediaType> {
   /** YAML. */
   public static final String YAML = "text/yaml";
 
+  /** NDJSON (newline delimited JSON). */
+  public static final String NDJSON = "application/x-ndjson";
+
   /** ALL. */
   public static final String ALL = "*/*";
 
@@ -96,9 +101,21 @@ public final class MediaType implements Comparable<MediaType> {
   /** MULTIPART_FORM_DATA. */
   public static final MediaType multipart = new MediaType(MULTIPART_FORMDATA, UTF_8);
 
+  /** NDJSON (newline delimited JSON). */
+  public static final MediaType ndjson = new MediaType(NDJSON, UTF_8);
+
   /** ALL. */
   public static final MediaType all = new MediaType(ALL, null);
 
+  /** Max number of entries of parse caches. Real traffic has a handful of distinct values. */
+  private static final int MAX_CACHE_SIZE = 256;
+
+  /** Parsed media types (Content-Type like headers). */
+  private static final Map<String, MediaType> TYPES = new ConcurrentHashMap<>();
+
+  /** Parsed media type lists (Accept like headers). */
+  private static final Map<String, List<MediaType>> LISTS = new ConcurrentHashMap<>();
+
   private final String raw;
 
   private final Charset charset;
@@ -109,6 +126,8 @@ public final class MediaType implements Comparable<MediaType> {
 
   private final String value;
 
+  private final int score;
+
   private MediaType(@Nonnull String value, Charset charset) {
     this.raw = value;
     this.subtypeStart = value.indexOf('/');
@@ -124,6 +143,7 @@ public final class MediaType implements Comparable<MediaType> {
       this.subtypeEnd = subtypeEnd;
     }
     this.charset = charset;
+    this.score = score(getType(), getSubtype());
   }
 
   @Override public boolean equals(Object obj) {
@@ -298,11 +318,15 @@ public final class MediaType implements Comparable<MediaType> {
   }
 
   private int getScore() {
+    return score;
+  }
+
+  private static int score(String type, String subtype) {
     int precendence = 0;
-    if (!getType().equals("*")) {
+    if (!type.equals("*")) {
       precendence += 1;
     }
-    if (!getSubtype().equals("*")) {
+    if (!subtype.equals("*")) {
       precendence += 1;
     }
     return precendence;
@@ -329,6 +353,15 @@ public final class MediaType implements Comparable<MediaType> {
     if (value == null || value.length() == 0 || value.equals("*")) {
       return all;
     }
+    MediaType result = TYPES.get(value);
+    if (result == null) {
+      result = create(value);
+      cache(TYPES, value, result);
+    }
+    return result;
+  }
+
+  private static MediaType create(String value) {
     if (HTML.equalsIgnoreCase(value) || "html".equals(value)) {
       return html;
     }
@@ -372,6 +405,37 @@ public final class MediaType implements Comparable<MediaType> {
     if (value == null || value.length() == 0) {
       return Collections.emptyList();
     }
+    return new ArrayList<>(cachedParse(value));
+  }
+
+  /**
+   * Like {@link #parse(String)} but results are cached and immutable. Useful for parsing headers
+   * on every request.
+   *
+   * @param value Mediatype comma separated value.
+   * @return One or more mediatypes.
+   */
+  static @Nonnull List<MediaType> cachedParse(@Nullable String value) {
+    if (value == null || value.length() == 0) {
+      return Collections.emptyList();
+    }
+    List<MediaType> result = LISTS.get(value);
+    if (result == null) {
+      result = Collections.unmodifiableList(doParse(value));
+      cache(LISTS, value, result);
+    }
+    return result;
+  }
+
+  private static <T> void cache(Map<String, T> cache, String key, T value) {
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      // don't grow forever on random header values
+      cache.clear();
+    }
+    cache.put(key, value);
+  }
+
+  private static List<MediaType> doParse(String value) {
     List<MediaType> result = new ArrayList<>(3);
     int typeStart = 0;
     int len = value.length();
@@ -395,7 +459,7 @@ public final class MediaType implements Comparable<MediaType> {
     int len1 = expected.length();
     int end = contentType.indexOf(',');
     while (end != -1) {
-      if (matchOne(expected, len1, contentType.substring(start, end).trim())) {
+      if (matchOne(expected, len1, contentType, start, end)) {
         return true;
       }
       start = end + 1;
@@ -403,7 +467,7 @@ public final class MediaType implements Comparable<MediaType> {
     }
     int clen = contentType.length();
     if (start < clen) {
-      return matchOne(expected, len1, contentType.substring(start, clen).trim());
+      return matchOne(expected, len1, contentType, start, clen);
     }
     return false;
   }
@@ -846,16 +910,27 @@ public final class MediaType implements Comparable<MediaType> {
 
   }
 
-  private static boolean matchOne(String expected, int len1, String contentType) {
-    if (contentType.startsWith("*/*") || contentType.equals("*")) {
+  /**
+   * Match expected type against the (trimmed) <code>[from, to)</code> region of content type.
+   */
+  private static boolean matchOne(String expected, int len1, String contentType, int from,
+      int to) {
+    while (from < to && contentType.charAt(from) <= ' ') {
+      from++;
+    }
+    while (to > from && contentType.charAt(to - 1) <= ' ') {
+      to--;
+    }
+    int len2 = to - from;
+    if ((len2 >= 3 && contentType.startsWith("*/*", from))
+        || (len2 == 1 && contentType.charAt(from) == '*')) {
       return true;
     }
     int i = 0;
-    int len2 = contentType.length();
     int len = Math.min(len1, len2);
     while (i < len) {
       char ch1 = expected.charAt(i);
-      char ch2 = contentType.charAt(i);
+      char ch2 = contentType.charAt(from + i);
       if (ch1 != ch2) {
         if (i > 0) {
           char prev = expected.charAt(i - 1);
@@ -866,7 +941,7 @@ public final class MediaType implements Comparable<MediaType> {
               }
               // tail/suffix matches
               for (int j = len1 - 1, k = len2 - 1; j > i; j--, k--) {
-                if (expected.charAt(j) != contentType.charAt(k)) {
+                if (k < 0 || expected.charAt(j) != contentType.charAt(from + k)) {
                   return false;
                 }
               }
@@ -37,6 +37,33 @@ public interface MessageEncoder {
    */
   @Nullable byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception;
 
+  /**
+   * Encode a value and send it to the client. Unlike {@link #encode(Context, Object)} the value
+   * doesn't need to be materialized as a byte array: encoders capable of writing incrementally
+   * should override this method and write into {@link Context#responseStream()}, which is backed
+   * by the server output buffer.
+   *
+   * The response stream works in two modes: a response that fits in the server buffer is sent
+   * with a <code>Content-Length</code> header, otherwise the response switches to chunked
+   * transfer encoding and the buffer is flushed every time it gets full.
+   *
+   * Default implementation calls {@link #encode(Context, Object)} and send the resulting bytes.
+   *
+   * @param ctx Web context.
+   * @param value Value to send.
+   * @return True when the response was sent or <code>false</code> if given object isn't
+   *     supported it.
+   * @throws Exception If something goes wrong.
+   */
+  default boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    byte[] bytes = encode(ctx, value);
+    if (bytes == null) {
+      return ctx.isResponseStarted();
+    }
+    ctx.send(bytes);
+    return true;
+  }
+
   /**
    * Execute this renderer only if the <code>Accept</code> header matches the content-type
    * parameter.
@@ -45,11 +72,23 @@ public interface MessageEncoder {
    * @return A new renderer with accept header matching.
    */
   @Nonnull default MessageEncoder accept(@Nonnull MediaType contentType) {
-    return (ctx, value) -> {
-      if (ctx.accept(contentType)) {
-        return encode(ctx, value);
+    MessageEncoder encoder = this;
+    return new MessageEncoder() {
+      @Nullable @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value)
+          throws Exception {
+        if (ctx.accept(contentType)) {
+          return encoder.encode(ctx, value);
+        }
+        return null;
+      }
+
+      @Override public boolean send(@Nonnull Context ctx, @Nonnull Object value)
+          throws Exception {
+        if (ctx.accept(contentType)) {
+          return encoder.send(ctx, value);
+        }
+        return false;
       }
-      return null;
     };
   }
 
@@ -7,10 +7,11 @@ package io.jooby;
 
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import io.jooby.internal.BucketStore;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
@@ -50,6 +51,19 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * }
  * }</pre>
  *
+ * Buckets created per key are kept in a bounded store: up to <code>100_000</code> buckets, evicted
+ * after one hour of inactivity. Use {@link #setMaxBuckets(long)} and
+ * {@link #setIdleTimeout(Duration)} to change it. When Caffeine is present, it is used as bucket
+ * store. Otherwise a built-in striped LRU store is used.
+ *
+ * <strong>Important:</strong> an evicted bucket is created again, full, on the next request with
+ * the same key. When the store is full, buckets are evicted even if they are in use, so a client
+ * able to send requests with many different keys (spoofed header values, many source addresses)
+ * pushes its own bucket out and gets a fresh one: the limit is bypassed. Size the store above
+ * the number of distinct keys you expect within the idle timeout, and watch
+ * {@link #getEvictions()}: a steady eviction count while the number of buckets sits at the max
+ * means the limit isn't enforced. For untrusted keys, prefer a cluster store or a global bucket.
+ *
  * Example 4: Rate limit in a cluster
  * <pre>{@code
  * {
@@ -70,8 +84,22 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  */
 public class RateLimitHandler implements Route.Before {
 
+  private static final long MAX_BUCKETS = 100_000;
+
+  private static final Duration IDLE_TIMEOUT = Duration.ofHours(1);
+
   private final Function<Context, Bucket> factory;
 
+  private long maxBuckets = MAX_BUCKETS;
+
+  private Duration idleTimeout = IDLE_TIMEOUT;
+
+  private volatile BucketStore store;
+
+  private final LongAdder requests = new LongAdder();
+
+  private final LongAdder rejections = new LongAdder();
+
   /**
    * Rate limit per IP/Remote Address.
    *
@@ -100,7 +128,7 @@ public class RateLimitHandler implements Route.Before {
    */
   public RateLimitHandler(@Nonnull SneakyThrows.Function<String, Bucket> bucketFactory,
       @Nonnull SneakyThrows.Function<Context, String> classifier) {
-    this(byKey(bucketFactory, classifier));
+    this.factory = ctx -> store().get(classifier.apply(ctx), bucketFactory);
   }
 
   /**
@@ -153,23 +181,111 @@ public class RateLimitHandler implements Route.Before {
         (Function<Context, Bucket>) ctx -> proxyManager.apply(classifier.apply(ctx)));
   }
 
+  /**
+   * Set the max number of buckets to keep when rate limiting per key. Default is:
+   * <code>100_000</code>. Once the max is reached, buckets are evicted even when they are in use
+   * and clients with an evicted bucket start again with a full bucket.
+   *
+   * @param maxBuckets Max number of buckets.
+   * @return This handler.
+   */
+  public @Nonnull RateLimitHandler setMaxBuckets(long maxBuckets) {
+    if (maxBuckets <= 0) {
+      throw new IllegalArgumentException("Max buckets must be positive: " + maxBuckets);
+    }
+    this.maxBuckets = maxBuckets;
+    return this;
+  }
+
+  /**
+   * Set how long a bucket is kept when no request uses it, when rate limiting per key. Default
+   * is: one hour. It must be longer than the refill period of the bucket bandwidths, otherwise
+   * clients get a fresh bucket after the idle timeout.
+   *
+   * @param idleTimeout Idle timeout.
+   * @return This handler.
+   */
+  public @Nonnull RateLimitHandler setIdleTimeout(@Nonnull Duration idleTimeout) {
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * Number of buckets in memory. Always <code>0</code> for global or cluster rate limiters.
+   *
+   * @return Number of buckets in memory.
+   */
+  public long getActiveBuckets() {
+    BucketStore store = this.store;
+    return store == null ? 0 : store.size();
+  }
+
+  /**
+   * Number of buckets evicted due to size or idle timeout. Size evictions reset the limit of the
+   * evicted keys, a growing count with a full store means keys churn faster than the store can
+   * hold them.
+   *
+   * @return Number of evicted buckets.
+   */
+  public long getEvictions() {
+    BucketStore store = this.store;
+    return store == null ? 0 : store.evictions();
+  }
+
+  /**
+   * Number of requests checked by this handler.
+   *
+   * @return Number of requests checked by this handler.
+   */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /**
+   * Number of requests rejected with <code>429</code>.
+   *
+   * @return Number of rejected requests.
+   */
+  public long getRejections() {
+    return rejections.sum();
+  }
+
+  /**
+   * Ratio of rejected requests, between <code>0</code> and <code>1</code>.
+   *
+   * @return Ratio of rejected requests.
+   */
+  public double getRejectionRate() {
+    long requests = this.requests.sum();
+    return requests == 0 ? 0.0 : (double) rejections.sum() / requests;
+  }
+
   @Override public void apply(@Nonnull Context ctx) throws Exception {
     Bucket bucket = factory.apply(ctx);
     // tryConsume returns false immediately if no tokens available with the bucket
     ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+    requests.increment();
     if (probe.isConsumed()) {
       ctx.setResponseHeader("X-Rate-Limit-Remaining", probe.getRemainingTokens());
     } else {
+      rejections.increment();
       ctx.setResponseHeader("X-Rate-Limit-Retry-After-Milliseconds",
           NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
       ctx.send(StatusCode.TOO_MANY_REQUESTS);
     }
   }
 
-  private static Function<Context, Bucket> byKey(
-      SneakyThrows.Function<String, Bucket> bucketFactory,
-      SneakyThrows.Function<Context, String> classifier) {
-    Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-    return ctx -> buckets.computeIfAbsent(classifier.apply(ctx), bucketFactory);
+  private BucketStore store() {
+    BucketStore store = this.store;
+    if (store == null) {
+      synchronized (this) {
+        store = this.store;
+        if (store == null) {
+          store = BucketStore.create(maxBuckets, idleTimeout);
+          this.store = store;
+        }
+      }
+    }
+    return store;
   }
 }
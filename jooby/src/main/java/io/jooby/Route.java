@@ -81,13 +81,14 @@ public class Route {
     }
 
     /**
-     * Chain this decorator with a handler and produces a new handler.
+     * Chain this decorator with a handler and produces a new handler. The decorator is applied
+     * once, the resulting handler is reused by every request.
      *
      * @param next Next handler.
      * @return A new handler.
      */
     @Nonnull default Handler then(@Nonnull Handler next) {
-      return ctx -> apply(next).apply(ctx);
+      return apply(next);
     }
   }
 
@@ -339,9 +340,12 @@ public class Route {
     if (contentType == null) {
       throw new UnsupportedMediaType(null);
     }
-    if (!ctx.getRoute().getConsumes().stream().anyMatch(contentType::matches)) {
-      throw new UnsupportedMediaType(contentType.getValue());
+    for (MediaType consumes : ctx.getRoute().getConsumes()) {
+      if (contentType.matches(consumes)) {
+        return;
+      }
     }
+    throw new UnsupportedMediaType(contentType.getValue());
   };
 
   /**
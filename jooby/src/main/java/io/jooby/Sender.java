@@ -9,6 +9,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Non-blocking sender. Reactive responses uses this class to send partial data in non-blocking
@@ -96,6 +97,24 @@ public interface Sender {
    */
   @Nonnull Sender write(@Nonnull byte[] data, @Nonnull Callback callback);
 
+  /**
+   * Write a region of a bytes chunk. Chunk is flushed immediately. The array must not be modified
+   * until the callback is notified.
+   *
+   * @param data Bytes chunk.
+   * @param offset Start offset.
+   * @param length Number of bytes to write.
+   * @param callback Callback.
+   * @return This sender.
+   */
+  @Nonnull default Sender write(@Nonnull byte[] data, int offset, int length,
+      @Nonnull Callback callback) {
+    if (offset == 0 && length == data.length) {
+      return write(data, callback);
+    }
+    return write(Arrays.copyOfRange(data, offset, offset + length), callback);
+  }
+
   /**
    * Close the sender.
    */
@@ -97,6 +97,10 @@ public class ServerOptions {
 
   private Integer compressionLevel;
 
+  private boolean http2;
+
+  private int streamPrefetch = 32;
+
   /**
    * Creates server options from config object. The configuration options must provided entries
    * like: <code>server.port</code>, <code>server.ioThreads</code>, etc...
@@ -140,6 +144,12 @@ public class ServerOptions {
       if (conf.hasPath("server.host")) {
         options.setHost(conf.getString("server.host"));
       }
+      if (conf.hasPath("server.http2")) {
+        options.setHttp2(conf.getBoolean("server.http2"));
+      }
+      if (conf.hasPath("server.streamPrefetch")) {
+        options.setStreamPrefetch(conf.getInt("server.streamPrefetch"));
+      }
       // ssl
       SslOptions.from(conf, "server.ssl").ifPresent(options::setSsl);
 
@@ -161,6 +171,9 @@ public class ServerOptions {
     if (compressionLevel != null) {
       buff.append(", gzip");
     }
+    if (http2) {
+      buff.append(", http2");
+    }
     buff.append("}");
 
     return buff.toString();
@@ -378,6 +391,54 @@ public class ServerOptions {
     return this;
   }
 
+  /**
+   * True when HTTP/2 is enabled. Default is: <code>false</code>.
+   *
+   * @return True when HTTP/2 is enabled.
+   */
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  /**
+   * Enable/disable HTTP/2. When enabled the secure port negotiates <code>h2</code> via ALPN and
+   * the plain port accepts <code>h2c</code> (upgrade from HTTP/1.1 or prior knowledge). HTTP/1.1
+   * keeps working on both ports.
+   *
+   * @param http2 True for enabled.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setHttp2(boolean http2) {
+    this.http2 = http2;
+    return this;
+  }
+
+  /**
+   * Number of elements requested upfront from a reactive stream response (like
+   * <code>Flowable</code>, <code>Flux</code> or <code>Publisher</code>). Default is:
+   * <code>32</code>.
+   *
+   * @return Number of elements requested upfront from a reactive stream response.
+   */
+  public int getStreamPrefetch() {
+    return streamPrefetch;
+  }
+
+  /**
+   * Set the number of elements requested upfront from a reactive stream response. Encoded
+   * elements are written in batches of up to {@link #getBufferSize()} bytes.
+   *
+   * @param streamPrefetch Number of elements requested upfront. Must be positive.
+   * @return This options.
+   */
+  public @Nonnull ServerOptions setStreamPrefetch(int streamPrefetch) {
+    if (streamPrefetch <= 0) {
+      throw new IllegalArgumentException("Stream prefetch must be positive: " + streamPrefetch);
+    }
+    this.streamPrefetch = streamPrefetch;
+    return this;
+  }
+
   /**
    * Server buffer size in bytes. Default is: <code>16kb</code>. Used for reading/writing data.
    *
@@ -10,7 +10,9 @@ import io.jooby.internal.SessionImpl;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * HTTP session. Only basic data types can be saved into session.
@@ -199,13 +201,28 @@ public interface Session {
   boolean isModify();
 
   /**
-   * Set modify flag. This method is part of public API but shouldn't be use it.
+   * Set modify flag. This method is part of public API but shouldn't be use it. Session stores
+   * reset the flag (and {@link #getModifiedAttributes()}) once modifications are persisted.
    *
    * @param modify Modify flag.
    * @return This session.
    */
   @Nonnull Session setModify(boolean modify);
 
+  /**
+   * Names of attributes put or removed since the session was loaded (or since modifications were
+   * persisted, see {@link #setModify(boolean)}). Session stores use it to save a delta instead of
+   * the entire session. A name without an attribute value is a removed attribute.
+   *
+   * Default implementation doesn't track removed attributes and returns all the attribute names of
+   * a modified session.
+   *
+   * @return Names of modified attributes or empty for unmodified sessions.
+   */
+  default @Nonnull Set<String> getModifiedAttributes() {
+    return isModify() ? toMap().keySet() : Collections.emptySet();
+  }
+
   /**
    * Remove all attributes.
    *
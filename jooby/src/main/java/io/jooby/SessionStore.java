@@ -35,7 +35,7 @@ public interface SessionStore {
    */
   abstract class InMemory implements SessionStore {
     protected static class Data {
-      private Instant lastAccessedTime;
+      private volatile Instant lastAccessedTime;
       private Instant creationTime;
       private Map hash;
 
@@ -46,7 +46,11 @@ public interface SessionStore {
       }
 
       public boolean isExpired(Duration timeout) {
-        Duration timeElapsed = Duration.between(lastAccessedTime, Instant.now());
+        return isExpired(timeout, Instant.now());
+      }
+
+      public boolean isExpired(Duration timeout, Instant now) {
+        Duration timeElapsed = Duration.between(lastAccessedTime, now);
         return timeElapsed.compareTo(timeout) > 0;
       }
     }
@@ -64,8 +68,8 @@ public interface SessionStore {
 
     @Override public @Nonnull Session newSession(@Nonnull Context ctx) {
       String sessionId = token.newToken();
-      Data data = getOrCreate(sessionId,
-          sid -> new Data(Instant.now(), Instant.now(), new ConcurrentHashMap()));
+      Instant now = now();
+      Data data = getOrCreate(sessionId, sid -> new Data(now, now, new ConcurrentHashMap()));
 
       Session session = restore(ctx, sessionId, data);
 
@@ -93,6 +97,34 @@ public interface SessionStore {
       return this;
     }
 
+    /**
+     * Number of sessions in the store. Useful for metrics.
+     *
+     * @return Number of sessions in the store or <code>-1</code> when unknown.
+     */
+    public long getSessionCount() {
+      return -1;
+    }
+
+    /**
+     * Number of sessions evicted due to expiration since the store was created. Useful for
+     * metrics.
+     *
+     * @return Number of sessions evicted or <code>-1</code> when unknown.
+     */
+    public long getEvictionCount() {
+      return -1;
+    }
+
+    /**
+     * Current time, used for creation, last accessed and expiration times.
+     *
+     * @return Current time.
+     */
+    protected @Nonnull Instant now() {
+      return Instant.now();
+    }
+
     protected abstract @Nonnull Data getOrCreate(@Nonnull String sessionId,
         @Nonnull Function<String, Data> factory);
 
@@ -123,13 +155,21 @@ public interface SessionStore {
     }
 
     @Override public void touchSession(@Nonnull Context ctx, @Nonnull Session session) {
-      saveSession(ctx, session);
+      // Session attributes are the stored attributes, changes are visible right away
       token.saveToken(ctx, session.getId());
     }
 
     @Override public void saveSession(Context ctx, @Nonnull Session session) {
       String sessionId = session.getId();
-      put(sessionId, new Data(session.getCreationTime(), Instant.now(), session.toMap()));
+      Instant now = now();
+      Data data = getOrNull(sessionId);
+      if (data != null && data.hash == session.toMap()) {
+        // touch only: expiration is computed from last accessed time
+        data.lastAccessedTime = now;
+      } else {
+        put(sessionId, new Data(session.getCreationTime(), now, session.toMap()));
+      }
+      session.setModify(false);
     }
 
     @Override public void renewSessionId(@Nonnull Context ctx, @Nonnull Session session) {
@@ -341,8 +381,20 @@ public interface SessionStore {
    * @return A browser session store.
    */
   static @Nonnull SessionStore signed(@Nonnull String secret, @Nonnull SessionToken token) {
+    return signed(new CookieSigner(secret), token);
+  }
+
+  /**
+   * Creates a session store that uses (un)signed data. Session data is signed it using
+   * <code>HMAC_SHA256</code>. Use it for key rotation, see {@link CookieSigner}.
+   *
+   * @param signer Cookie signer.
+   * @param token Session token to use.
+   * @return A browser session store.
+   */
+  static @Nonnull SessionStore signed(@Nonnull CookieSigner signer, @Nonnull SessionToken token) {
     SneakyThrows.Function<String, Map<String, String>> decoder = value -> {
-      String unsign = Cookie.unsign(value, secret);
+      String unsign = signer.unsign(value);
       if (unsign == null) {
         return null;
       }
@@ -350,7 +402,7 @@ public interface SessionStore {
     };
 
     SneakyThrows.Function<Map<String, String>, String> encoder = attributes ->
-        Cookie.sign(Cookie.encode(attributes), secret);
+        signer.sign(Cookie.encode(attributes));
 
     return signed(token, decoder, encoder);
   }
@@ -0,0 +1,183 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+/**
+ * Response handler for cursor like return types: {@link java.util.stream.Stream},
+ * {@link Iterator} and {@link Iterable} (except {@link Collection}, which are already in memory).
+ * Elements are encoded and written one by one, as a JSON array or as newline delimited JSON, so
+ * memory usage is bounded by the server buffer size, not by the number of elements.
+ *
+ * <pre>{@code
+ * {
+ *   install(new JacksonModule());
+ *
+ *   responseHandler(StreamResponseHandler.json());
+ *
+ *   get("/rows", ctx -> repository.stream());
+ * }
+ * }</pre>
+ *
+ * The source is closed once all the elements have been written or when writing fails (like on
+ * client disconnect, which stops the iteration): streams are always closed, iterators and iterables when they implement
+ * {@link AutoCloseable} (like JDBI <code>ResultIterator</code>). Hibernate/JPA scrollable results
+ * are supported via <code>Query.stream()</code>.
+ *
+ * A failure after part of the response was sent aborts the response (see {@link Abortable}), so
+ * the client never receives a truncated JSON document as a complete one.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class StreamResponseHandler implements ResponseHandler {
+
+  private static final int JSON_LBRACKET = '[';
+  private static final int JSON_SEP = ',';
+  private static final int JSON_RBRACKET = ']';
+  private static final int NEW_LINE = '\n';
+
+  private final MessageEncoder encoder;
+
+  private StreamResponseHandler(@Nullable MessageEncoder encoder) {
+    this.encoder = encoder;
+  }
+
+  /**
+   * Write elements as a JSON array. Elements are encoded with the route encoder, so content
+   * negotiation works as usual. Array brackets and separators are only written when response type
+   * is JSON.
+   *
+   * @return A response handler.
+   */
+  public static @Nonnull StreamResponseHandler json() {
+    return new StreamResponseHandler(null);
+  }
+
+  /**
+   * Write elements as newline delimited JSON (<code>application/x-ndjson</code>). Elements are
+   * encoded with the given encoder, regardless of the <code>Accept</code> header.
+   *
+   * @param encoder Encoder for a single element, like JacksonModule.
+   * @return A response handler.
+   */
+  public static @Nonnull StreamResponseHandler ndjson(@Nonnull MessageEncoder encoder) {
+    return new StreamResponseHandler(encoder);
+  }
+
+  @Override public boolean matches(@Nonnull Type type) {
+    Class<?> rawType = Reified.rawType(type);
+    return BaseStream.class.isAssignableFrom(rawType)
+        || Iterator.class.isAssignableFrom(rawType)
+        || (Iterable.class.isAssignableFrom(rawType)
+        && !Collection.class.isAssignableFrom(rawType));
+  }
+
+  @Nonnull @Override public Route.Handler create(Route.Handler next) {
+    return ctx -> {
+      try {
+        Object result = next.apply(ctx);
+        if (ctx.isResponseStarted()) {
+          return result;
+        }
+        send(ctx, result);
+        return result;
+      } catch (Throwable x) {
+        ctx.sendError(x);
+        return x;
+      }
+    };
+  }
+
+  private void send(Context ctx, Object result) throws Exception {
+    Iterator<?> iterator;
+    Object source;
+    if (result instanceof BaseStream) {
+      iterator = ((BaseStream<?, ?>) result).iterator();
+      source = result;
+    } else if (result instanceof Iterator) {
+      iterator = (Iterator<?>) result;
+      source = result;
+    } else if (result instanceof Iterable) {
+      iterator = ((Iterable<?>) result).iterator();
+      source = result instanceof AutoCloseable ? result : iterator;
+    } else {
+      ctx.render(result);
+      return;
+    }
+    boolean closed = false;
+    try {
+      send(ctx, iterator, source);
+      closed = true;
+    } finally {
+      if (!closed) {
+        close(source);
+      }
+    }
+  }
+
+  private void send(Context ctx, Iterator<?> iterator, Object source) throws Exception {
+    boolean ndjson = encoder != null;
+    MessageEncoder encoder = ndjson ? this.encoder : ctx.getRoute().getEncoder();
+    if (ndjson) {
+      ctx.setResponseType(MediaType.ndjson);
+    }
+    // encode first element before opening the response, so the encoder sets the response type
+    byte[] first = null;
+    while (first == null && iterator.hasNext()) {
+      first = encoder.encode(ctx, iterator.next());
+    }
+    ctx.setDefaultResponseType(MediaType.json);
+    boolean array = !ndjson && ctx.getResponseType().isJson();
+
+    OutputStream output = ctx.responseStream();
+    try {
+      if (array) {
+        output.write(JSON_LBRACKET);
+      }
+      if (first != null) {
+        output.write(first);
+        if (ndjson) {
+          output.write(NEW_LINE);
+        }
+        while (iterator.hasNext()) {
+          byte[] bytes = encoder.encode(ctx, iterator.next());
+          if (bytes != null) {
+            if (array) {
+              output.write(JSON_SEP);
+            }
+            output.write(bytes);
+            if (ndjson) {
+              output.write(NEW_LINE);
+            }
+          }
+        }
+      }
+      // release the source before completing the response
+      close(source);
+      if (array) {
+        output.write(JSON_RBRACKET);
+      }
+    } catch (Throwable x) {
+      Abortable.abort(output, x);
+      throw x;
+    }
+    output.close();
+  }
+
+  private static void close(Object source) throws Exception {
+    if (source instanceof AutoCloseable) {
+      ((AutoCloseable) source).close();
+    }
+  }
+}
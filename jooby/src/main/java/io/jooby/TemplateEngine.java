@@ -5,7 +5,11 @@
  */
 package io.jooby;
 
+import io.jooby.internal.TemplateOutputStream;
+
 import javax.annotation.Nonnull;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +39,22 @@ public interface TemplateEngine extends MessageEncoder {
    */
   String render(Context ctx, ModelAndView modelAndView) throws Exception;
 
+  /**
+   * Render a model and view instance into the given writer. Template engines capable of writing
+   * incrementally should override this method, so the output is never materialized as a String.
+   *
+   * Default implementation writes the output of {@link #render(Context, ModelAndView)}.
+   *
+   * @param ctx Web context.
+   * @param modelAndView Model and view.
+   * @param writer Output writer.
+   * @throws Exception If something goes wrong.
+   */
+  default void render(@Nonnull Context ctx, @Nonnull ModelAndView modelAndView,
+      @Nonnull Writer writer) throws Exception {
+    writer.write(render(ctx, modelAndView));
+  }
+
   @Override default byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
     // initialize flash and session attributes (if any)
     ctx.flash();
@@ -45,6 +65,37 @@ public interface TemplateEngine extends MessageEncoder {
     return output.getBytes(StandardCharsets.UTF_8);
   }
 
+  /**
+   * Render the template using {@link #render(Context, ModelAndView, Writer)} and encode the output
+   * as UTF-8 into the response stream. Output that fits in the server buffer is sent with a
+   * <code>Content-Length</code> header; bigger output is streamed using chunked transfer encoding.
+   *
+   * When rendering fails, the response stream is aborted (see {@link Abortable}).
+   *
+   * @param ctx Web context.
+   * @param value Model and view.
+   * @return True.
+   * @throws Exception If something goes wrong.
+   */
+  @Override default boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    // initialize flash and session attributes (if any)
+    ctx.flash();
+    ctx.sessionOrNull();
+
+    ctx.setDefaultResponseType(MediaType.html);
+    TemplateOutputStream output = new TemplateOutputStream(ctx);
+    Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    try {
+      render(ctx, (ModelAndView) value, writer);
+      writer.flush();
+    } catch (Throwable x) {
+      output.abort(x);
+      throw x;
+    }
+    writer.close();
+    return true;
+  }
+
   /**
    * True if the template engine is able to render the given view. This method checks if the view
    * name matches one of the {@link #extensions()}.
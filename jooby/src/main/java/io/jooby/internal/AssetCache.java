@@ -0,0 +1,149 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Asset;
+import io.jooby.MediaType;
+import io.jooby.SneakyThrows;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Least recently used cache of assets, bounded by the total number of bytes (including compressed
+ * variants).
+ *
+ * Compressed variants are taken from precompressed siblings (<code>app.js.br</code>,
+ * <code>app.js.gz</code>) when present. Otherwise textual assets are gzipped once, at load time.
+ */
+public class AssetCache {
+
+  /** Don't bother compressing tiny assets. */
+  private static final int MIN_GZIP_SIZE = 256;
+
+  private final long maxSize;
+
+  private final LinkedHashMap<String, CachedAsset> assets = new LinkedHashMap<>(64, 0.75f, true);
+
+  private long size;
+
+  public AssetCache(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Get a cached asset.
+   *
+   * @param path Asset path.
+   * @return Cached asset or <code>null</code>.
+   */
+  public synchronized @Nullable CachedAsset get(@Nonnull String path) {
+    return assets.get(path);
+  }
+
+  /**
+   * Remove an asset from cache.
+   *
+   * @param path Asset path.
+   */
+  public synchronized void remove(@Nonnull String path) {
+    CachedAsset asset = assets.remove(path);
+    if (asset != null) {
+      size -= asset.weight();
+    }
+  }
+
+  /**
+   * Load an asset into memory and add it to the cache. Asset is closed after loading it, unless
+   * it doesn't fit in the cache.
+   *
+   * @param path Asset path.
+   * @param asset Asset to load.
+   * @param resolver Resolve precompressed siblings of the asset.
+   * @return Cached asset or the original asset when it can't be cached.
+   */
+  public @Nonnull Asset put(@Nonnull String path, @Nonnull Asset asset,
+      @Nonnull Function<String, Asset> resolver) {
+    long length = asset.getSize();
+    if (asset.isDirectory() || length < 0 || length > maxSize) {
+      return asset;
+    }
+    CachedAsset cached;
+    try (Asset it = asset) {
+      byte[] bytes = read(it);
+      MediaType contentType = it.getContentType();
+      byte[] brotli = sibling(resolver, path + ".br", bytes.length);
+      byte[] gzip = sibling(resolver, path + ".gz", bytes.length);
+      if (gzip == null && contentType.isTextual() && bytes.length >= MIN_GZIP_SIZE) {
+        gzip = gzip(bytes);
+      }
+      cached = new CachedAsset(bytes, gzip, brotli, it.getEtag(), it.getLastModified(),
+          contentType);
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
+    synchronized (this) {
+      CachedAsset previous = assets.put(path, cached);
+      if (previous != null) {
+        size -= previous.weight();
+      }
+      size += cached.weight();
+      evict();
+    }
+    return cached;
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, CachedAsset>> it = assets.entrySet().iterator();
+    while (size > maxSize && it.hasNext()) {
+      size -= it.next().getValue().weight();
+      it.remove();
+    }
+  }
+
+  private static byte[] sibling(Function<String, Asset> resolver, String path, int length)
+      throws Exception {
+    Asset sibling = resolver.apply(path);
+    if (sibling == null) {
+      return null;
+    }
+    try (Asset it = sibling) {
+      byte[] bytes = read(it);
+      // keep it only when it saves something
+      return bytes.length < length ? bytes : null;
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    byte[] result = out.toByteArray();
+    return result.length < bytes.length ? result : null;
+  }
+
+  private static byte[] read(Asset asset) throws IOException {
+    long length = asset.getSize();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length > 0 ? (int) length : 1024);
+    try (InputStream in = asset.stream()) {
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1) {
+        out.write(buffer, 0, count);
+      }
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hand log records off to a bounded multi-producer/single-consumer ring buffer. A dedicated daemon
+ * thread drains the buffer in batches and calls the underlying log function, so request threads
+ * never contend on the logger (appender) lock.
+ *
+ * When the buffer is full records are dropped (and counted) or the producer waits for free space,
+ * depending on the <code>block</code> flag.
+ */
+public class AsyncLogWriter implements Consumer<String>, AutoCloseable {
+
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+  private static final long FULL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Consumer<String> log;
+
+  private final AtomicReferenceArray<String> buffer;
+
+  private final int mask;
+
+  private final int batchSize;
+
+  private final boolean block;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  private final AtomicLong head = new AtomicLong();
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final Thread worker;
+
+  private volatile boolean running = true;
+
+  public AsyncLogWriter(Consumer<String> log, int capacity, boolean block) {
+    this.log = log;
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.buffer = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.batchSize = Math.max(1, Math.min(size / 2, 256));
+    this.block = block;
+    this.worker = new Thread(this::drainLoop, "access-log");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  @Override public void accept(String record) {
+    if (!running) {
+      // writer was closed, fallback to synchronous logging
+      log.accept(record);
+      return;
+    }
+    while (!offer(record)) {
+      if (!block || !running) {
+        dropped.increment();
+        return;
+      }
+      LockSupport.parkNanos(FULL_NANOS);
+    }
+  }
+
+  /**
+   * Number of records dropped because the buffer was full.
+   *
+   * @return Number of records dropped because the buffer was full.
+   */
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  @Override public void close() {
+    running = false;
+    LockSupport.unpark(worker);
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean offer(String record) {
+    while (true) {
+      long t = tail.get();
+      if (t - head.get() > mask) {
+        return false;
+      }
+      if (tail.compareAndSet(t, t + 1)) {
+        buffer.lazySet((int) t & mask, record);
+        return true;
+      }
+    }
+  }
+
+  private int drain() {
+    long h = head.get();
+    int count = 0;
+    while (count < batchSize) {
+      int index = (int) h & mask;
+      String record = buffer.get(index);
+      if (record == null) {
+        // empty or claimed slot not yet published
+        break;
+      }
+      buffer.lazySet(index, null);
+      h += 1;
+      head.lazySet(h);
+      count += 1;
+      try {
+        log.accept(record);
+      } catch (Throwable x) {
+        // keep draining, a failing appender must not kill the writer
+      }
+    }
+    return count;
+  }
+
+  private void drainLoop() {
+    while (running) {
+      if (drain() == 0) {
+        LockSupport.parkNanos(this, IDLE_NANOS);
+      }
+    }
+    // flush pending records, including those still being published
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (drain() > 0 || (head.get() != tail.get() && System.nanoTime() < deadline)) {
+      Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded bucket store used by the rate limit handler. Buckets are evicted when they haven't been
+ * accessed for the configured idle time or when the store reach its max size.
+ *
+ * Size evictions don't look at bucket state: a bucket in use (even an empty one) might be evicted
+ * and the next request for its key gets a new, full bucket.
+ */
+public interface BucketStore {
+
+  /**
+   * Find a bucket or create one.
+   *
+   * @param key Bucket key.
+   * @param factory Bucket factory.
+   * @return Bucket.
+   */
+  Bucket get(String key, Function<String, Bucket> factory);
+
+  /**
+   * Number of buckets in the store.
+   *
+   * @return Number of buckets in the store.
+   */
+  long size();
+
+  /**
+   * Number of evicted buckets.
+   *
+   * @return Number of evicted buckets.
+   */
+  long evictions();
+
+  /**
+   * Creates a bucket store. Uses Caffeine when present, otherwise fallback to a built-in striped
+   * LRU store.
+   *
+   * @param maxSize Max number of buckets.
+   * @param idleTimeout Idle timeout.
+   * @return A bucket store.
+   */
+  static BucketStore create(long maxSize, Duration idleTimeout) {
+    try {
+      BucketStore.class.getClassLoader().loadClass("com.github.benmanes.caffeine.cache.Caffeine");
+      return new CaffeineBucketStore(maxSize, idleTimeout);
+    } catch (ClassNotFoundException | LinkageError x) {
+      return new LruBucketStore(maxSize, idleTimeout);
+    }
+  }
+}
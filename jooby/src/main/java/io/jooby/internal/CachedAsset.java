@@ -0,0 +1,195 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Asset;
+import io.jooby.MediaType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * In memory copy of an asset. Keeps the asset bytes, the e-tag and optional gzip/brotli variants.
+ */
+public class CachedAsset implements Asset {
+
+  /** Gzip encoding. */
+  public static final String GZIP = "gzip";
+
+  /** Brotli encoding. */
+  public static final String BR = "br";
+
+  private final byte[] bytes;
+
+  private final byte[] gzip;
+
+  private final byte[] brotli;
+
+  private final String etag;
+
+  private final String gzipEtag;
+
+  private final String brotliEtag;
+
+  private final long lastModified;
+
+  private final MediaType contentType;
+
+  public CachedAsset(byte[] bytes, @Nullable byte[] gzip, @Nullable byte[] brotli, String etag,
+      long lastModified, MediaType contentType) {
+    this.bytes = bytes;
+    this.gzip = gzip;
+    this.brotli = brotli;
+    this.etag = etag;
+    this.gzipEtag = etag(etag, GZIP);
+    this.brotliEtag = etag(etag, BR);
+    this.lastModified = lastModified;
+    this.contentType = contentType;
+  }
+
+  @Override public long getSize() {
+    return bytes.length;
+  }
+
+  @Override public long getLastModified() {
+    return lastModified;
+  }
+
+  @Override public boolean isDirectory() {
+    return false;
+  }
+
+  @Nonnull @Override public String getEtag() {
+    return etag;
+  }
+
+  @Nonnull @Override public MediaType getContentType() {
+    return contentType;
+  }
+
+  @Override public InputStream stream() {
+    return new ByteArrayInputStream(bytes);
+  }
+
+  @Override public void close() {
+    // NOOP
+  }
+
+  /**
+   * True when there is at least one compressed variant.
+   *
+   * @return True when there is at least one compressed variant.
+   */
+  public boolean isCompressed() {
+    return gzip != null || brotli != null;
+  }
+
+  /**
+   * Best content encoding for the given <code>Accept-Encoding</code> header.
+   *
+   * @param acceptEncoding Accept encoding header or <code>null</code>.
+   * @return {@link #BR}, {@link #GZIP} or <code>null</code> for identity.
+   */
+  public @Nullable String encoding(@Nullable String acceptEncoding) {
+    if (acceptEncoding == null || !isCompressed()) {
+      return null;
+    }
+    if (brotli != null && accepts(acceptEncoding, BR)) {
+      return BR;
+    }
+    if (gzip != null && accepts(acceptEncoding, GZIP)) {
+      return GZIP;
+    }
+    return null;
+  }
+
+  /**
+   * E-tag for the given encoding. Each encoding is a different representation, so compressed
+   * variants get their own e-tag: the asset e-tag with an encoding suffix.
+   *
+   * @param encoding Encoding, one of {@link #encoding(String)}.
+   * @return E-tag.
+   */
+  public @Nonnull String getEtag(@Nullable String encoding) {
+    if (BR.equals(encoding)) {
+      return brotliEtag;
+    }
+    if (GZIP.equals(encoding)) {
+      return gzipEtag;
+    }
+    return etag;
+  }
+
+  /**
+   * Content for the given encoding.
+   *
+   * @param encoding Encoding, one of {@link #encoding(String)}.
+   * @return Content.
+   */
+  public @Nonnull byte[] content(@Nullable String encoding) {
+    if (BR.equals(encoding)) {
+      return brotli;
+    }
+    if (GZIP.equals(encoding)) {
+      return gzip;
+    }
+    return bytes;
+  }
+
+  /**
+   * Memory used by this asset.
+   *
+   * @return Memory used by this asset.
+   */
+  public long weight() {
+    return bytes.length
+        + (gzip == null ? 0 : gzip.length)
+        + (brotli == null ? 0 : brotli.length);
+  }
+
+  private static String etag(String etag, String encoding) {
+    int len = etag.length();
+    if (len > 0 && etag.charAt(len - 1) == '"') {
+      return etag.substring(0, len - 1) + "-" + encoding + "\"";
+    }
+    return etag + "-" + encoding;
+  }
+
+  static boolean accepts(String acceptEncoding, String encoding) {
+    int len = acceptEncoding.length();
+    int start = 0;
+    while (start < len) {
+      int end = acceptEncoding.indexOf(',', start);
+      if (end < 0) {
+        end = len;
+      }
+      String token = acceptEncoding.substring(start, end).trim();
+      int params = token.indexOf(';');
+      String name = params < 0 ? token : token.substring(0, params).trim();
+      if (name.equalsIgnoreCase(encoding) || name.equals("*")) {
+        return params < 0 || !isZeroQuality(token.substring(params + 1));
+      }
+      start = end + 1;
+    }
+    return false;
+  }
+
+  private static boolean isZeroQuality(String params) {
+    for (String param : params.split(";")) {
+      String value = param.trim();
+      if (value.startsWith("q=")) {
+        try {
+          return Double.parseDouble(value.substring(2).trim()) <= 0;
+        } catch (NumberFormatException x) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
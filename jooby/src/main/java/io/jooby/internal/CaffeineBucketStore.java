@@ -0,0 +1,38 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+public class CaffeineBucketStore implements BucketStore {
+
+  private final Cache<String, Bucket> cache;
+
+  public CaffeineBucketStore(long maxSize, Duration idleTimeout) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(idleTimeout)
+        .recordStats()
+        .build();
+  }
+
+  @Override public Bucket get(String key, Function<String, Bucket> factory) {
+    return cache.get(key, factory);
+  }
+
+  @Override public long size() {
+    return cache.estimatedSize();
+  }
+
+  @Override public long evictions() {
+    return cache.stats().evictionCount();
+  }
+}
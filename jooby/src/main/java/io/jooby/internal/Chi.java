@@ -10,6 +10,7 @@ import io.jooby.Route;
 import io.jooby.Router;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -430,29 +431,32 @@ class Chi implements RouteTree {
 
     // Recursive edge traversal by checking all nodeTyp groups along the way.
     // It's like searching through a multi-dimensional radix trie.
-    Route findRoute(RouterMatch rctx, String method, String path) {
+    // The search key is the `path` suffix starting at `start`, it never creates intermediate
+    // strings: only path variable values are extracted from the original path.
+    Route findRoute(RouterMatch rctx, String method, String path, int start) {
+      int len = path.length();
 
       for (int ntyp = 0; ntyp < NODE_SIZE; ntyp++) {
         Node[] nds = this.children[ntyp];
         if (nds != null) {
           Node xn = null;
-          String xsearch = path;
+          int xsearch = start;
 
-          char label = path.length() > 0 ? path.charAt(0) : ZERO_CHAR;
+          char label = start < len ? path.charAt(start) : ZERO_CHAR;
 
           switch (ntyp) {
             case ntStatic:
               xn = findEdge(nds, label);
-              if (xn == null || !xsearch.startsWith(xn.prefix)) {
+              if (xn == null || !path.startsWith(xn.prefix, start)) {
                 continue;
               }
-              xsearch = xsearch.substring(xn.prefix.length());
+              xsearch = start + xn.prefix.length();
               break;
 
             case ntParam:
             case ntRegexp:
               // short-circuit and return no matching route for empty param values
-              if (xsearch.length() == 0) {
+              if (start == len) {
                 continue;
               }
               // serially loop through each node grouped by the tail delimiter
@@ -460,31 +464,37 @@ class Chi implements RouteTree {
                 xn = nds[idx];
 
                 // label for param nodes is the delimiter byte
-                int p = xsearch.indexOf(xn.tail);
+                int p = path.indexOf(xn.tail, start);
 
                 if (p < 0) {
                   if (xn.tail == '/') {
-                    p = xsearch.length();
+                    p = len;
                   } else {
                     continue;
                   }
                 }
 
+                String value;
                 if (ntyp == ntRegexp && xn.rex != null) {
-                  if (!xn.rex.matcher(xsearch.substring(0, p)).matches()) {
+                  value = path.substring(start, p);
+                  if (!xn.rex.matcher(value).matches()) {
                     continue;
                   }
-                } else if (xsearch.substring(0, p).indexOf('/') != -1) {
-                  // avoid a newRuntimeRoute across path segments
-                  continue;
+                } else {
+                  int slash = path.indexOf('/', start);
+                  if (slash != -1 && slash < p) {
+                    // avoid a newRuntimeRoute across path segments
+                    continue;
+                  }
+                  value = path.substring(start, p);
                 }
 
                 // rctx.routeParams.Values = append(rctx.routeParams.Values, xsearch[:p])
-                int prevlen = rctx.vars.size();
-                rctx.value(xsearch.substring(0, p));
-                xsearch = xsearch.substring(p);
+                int prevlen = rctx.size();
+                rctx.value(value);
+                xsearch = p;
 
-                if (xsearch.length() == 0) {
+                if (xsearch == len) {
                   if (xn.isLeaf()) {
                     Route h = xn.endpoints.get(method);
                     if (h != null) {
@@ -496,24 +506,24 @@ class Chi implements RouteTree {
                 }
 
                 // recursively find the next node on this branch
-                Route fin = xn.findRoute(rctx, method, xsearch);
+                Route fin = xn.findRoute(rctx, method, path, xsearch);
                 if (fin != null) {
                   return fin;
                 }
 
                 // not found on this branch, reset vars
                 rctx.truncate(prevlen);
-                xsearch = path;
+                xsearch = start;
               }
               break;
             default:
               // catch-all nodes
               // rctx.routeParams.Values = append(rctx.routeParams.Values, search)
-              if (xsearch.length() > 0) {
-                rctx.value(xsearch);
+              if (start < len) {
+                rctx.value(path.substring(start));
               }
               xn = nds[0];
-              xsearch = EMPTY_STRING;
+              xsearch = len;
           }
 
           if (xn == null) {
@@ -521,7 +531,7 @@ class Chi implements RouteTree {
           }
 
           // did we returnType it yet?
-          if (xsearch.length() == 0) {
+          if (xsearch == len) {
             if (xn.isLeaf()) {
               Route h = xn.endpoints.get(method);
               if (h != null) {
@@ -537,7 +547,7 @@ class Chi implements RouteTree {
           }
 
           // recursively returnType the next node..
-          Route fin = xn.findRoute(rctx, method, xsearch);
+          Route fin = xn.findRoute(rctx, method, path, xsearch);
           if (fin != null) {
             return fin;
           }
@@ -715,6 +725,9 @@ class Chi implements RouteTree {
 
   private final Node root = new Node();
 
+  /** Max number of path variables of all the routes, used to pre-size the path variable array. */
+  private int maxPathKeys;
+
   /** Not need to use a concurrent map, due we don't allow to add routes after application started. */
   private final Map<Object, StaticRoute> staticPaths = new ConcurrentHashMap<>();
 
@@ -729,7 +742,9 @@ class Chi implements RouteTree {
     if (pattern.equals(BASE_CATCH_ALL)) {
       pattern = "/*";
     }
-    if (Router.pathKeys(pattern).isEmpty()) {
+    List<String> pathKeys = Router.pathKeys(pattern);
+    maxPathKeys = Math.max(maxPathKeys, pathKeys.size());
+    if (pathKeys.isEmpty()) {
       StaticRoute staticRoute = staticPaths.computeIfAbsent(pattern, k -> new StaticRoute());
       staticRoute.put(method, route);
     }
@@ -768,8 +783,8 @@ class Chi implements RouteTree {
 
   private Router.Match findInternal(String method, String path) {
     // use radix tree
-    RouterMatch result = new RouterMatch();
-    Route route = root.findRoute(result, method, path);
+    RouterMatch result = new RouterMatch(maxPathKeys);
+    Route route = root.findRoute(result, method, path, 0);
     if (route == null) {
       return result.missing(method, path, encoder);
     }
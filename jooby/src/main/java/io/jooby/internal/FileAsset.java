@@ -13,8 +13,10 @@ import javax.annotation.Nonnull;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * File system asset.
@@ -63,6 +65,19 @@ public class FileAsset implements Asset {
     }
   }
 
+  /**
+   * Open a file channel, so the asset can be sent using zero-copy transfers (sendfile).
+   *
+   * @return File channel.
+   */
+  public @Nonnull FileChannel channel() {
+    try {
+      return FileChannel.open(file, StandardOpenOption.READ);
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
   @Override public void close() {
     // NOOP
   }
@@ -158,6 +158,10 @@ public class HashValue implements ValueNode, Formdata {
     return hash;
   }
 
+  /*package*/ void clear() {
+    hash = EMPTY;
+  }
+
   /*package*/ HashValue getOrCreateScope(String name) {
     return (HashValue) hash().computeIfAbsent(name, k -> new HashValue(ctx, k));
   }
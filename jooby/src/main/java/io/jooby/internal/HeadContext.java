@@ -69,6 +69,17 @@ public class HeadContext extends ForwardingContext {
     return this;
   }
 
+  @Nonnull @Override public Context send(@Nonnull ByteBuffer[] data) {
+    long length = 0;
+    for (ByteBuffer buffer : data) {
+      length += buffer.remaining();
+    }
+    ctx.setResponseLength(length);
+    checkSizeHeaders();
+    ctx.send(StatusCode.OK);
+    return this;
+  }
+
   @Nonnull @Override public Context send(@Nonnull FileChannel file) {
     try {
       ctx.setResponseLength(file.size());
@@ -41,41 +41,93 @@ public class HttpMessageEncoder implements MessageEncoder {
   @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
     if (value instanceof ModelAndView) {
       ModelAndView modelAndView = (ModelAndView) value;
-      for (TemplateEngine engine : templateEngineList) {
-        if (engine.supports(modelAndView)) {
-          return engine.encode(ctx, modelAndView);
-        }
+      return templateEngine(modelAndView).encode(ctx, modelAndView);
+    }
+    if (sendRaw(ctx, value)) {
+      return null;
+    }
+    byte[] bytes = toByteArray(value);
+    if (bytes != null) {
+      return bytes;
+    }
+    Iterator<MessageEncoder> iterator = encoderList.iterator();
+    /** NOTE: looks like an infinite loop but there is a default renderer at the end of iterator. */
+    byte[] result = null;
+    while (result == null) {
+      MessageEncoder next = iterator.next();
+      result = next.encode(ctx, value);
+    }
+    return result;
+  }
+
+  @Override public boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    if (value instanceof ModelAndView) {
+      ModelAndView modelAndView = (ModelAndView) value;
+      return templateEngine(modelAndView).send(ctx, modelAndView);
+    }
+    if (sendRaw(ctx, value)) {
+      return true;
+    }
+    byte[] bytes = toByteArray(value);
+    if (bytes != null) {
+      ctx.send(bytes);
+      return true;
+    }
+    /** NOTE: there is a default renderer at the end of the list. */
+    for (MessageEncoder encoder : encoderList) {
+      if (encoder.send(ctx, value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private TemplateEngine templateEngine(ModelAndView modelAndView) {
+    for (TemplateEngine engine : templateEngineList) {
+      if (engine.supports(modelAndView)) {
+        return engine;
       }
-      throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
     }
+    throw new IllegalArgumentException("No template engine for: " + modelAndView.getView());
+  }
+
+  private boolean sendRaw(Context ctx, Object value) {
     /** InputStream: */
     if (value instanceof InputStream) {
       ctx.send((InputStream) value);
-      return null;
+      return true;
     }
     /** StatusCode: */
     if (value instanceof StatusCode) {
       ctx.send((StatusCode) value);
-      return null;
+      return true;
     }
     /** FileChannel: */
     if (value instanceof FileChannel) {
       ctx.send((FileChannel) value);
-      return null;
+      return true;
     }
     if (value instanceof File) {
       ctx.send(((File) value).toPath());
-      return null;
+      return true;
     }
     if (value instanceof Path) {
       ctx.send((Path) value);
-      return null;
+      return true;
     }
     /** FileDownload: */
     if (value instanceof FileDownload) {
       ctx.send((FileDownload) value);
-      return null;
+      return true;
+    }
+    if (value instanceof ByteBuffer) {
+      ctx.send((ByteBuffer) value);
+      return true;
     }
+    return false;
+  }
+
+  private byte[] toByteArray(Object value) {
     /** Strings: */
     if (value instanceof CharSequence) {
       return value.toString().getBytes(StandardCharsets.UTF_8);
@@ -87,17 +139,6 @@ public class HttpMessageEncoder implements MessageEncoder {
     if (value instanceof byte[]) {
       return (byte[]) value;
     }
-    if (value instanceof ByteBuffer) {
-      ctx.send((ByteBuffer) value);
-      return null;
-    }
-    Iterator<MessageEncoder> iterator = encoderList.iterator();
-    /** NOTE: looks like an infinite loop but there is a default renderer at the end of iterator. */
-    byte[] result = null;
-    while (result == null) {
-      MessageEncoder next = iterator.next();
-      result = next.encode(ctx, value);
-    }
-    return result;
+    return null;
   }
 }
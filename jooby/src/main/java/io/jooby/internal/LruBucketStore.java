@@ -0,0 +1,108 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Striped LRU bucket store. Keys are spread over a fixed number of access ordered maps, each one
+ * guarded by its own lock. Idle buckets are removed from the least recently used end of the
+ * stripe every time a new bucket is added, so eviction cost is proportional to the number of
+ * expired entries.
+ */
+public class LruBucketStore implements BucketStore {
+
+  private static final int STRIPES = 16;
+
+  private static class Entry {
+    private final Bucket bucket;
+
+    private long lastAccess;
+
+    Entry(Bucket bucket, long lastAccess) {
+      this.bucket = bucket;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  private final LinkedHashMap<String, Entry>[] stripes;
+
+  private final long maxStripeSize;
+
+  private final long idleNanos;
+
+  private final LongAdder evictions = new LongAdder();
+
+  public LruBucketStore(long maxSize, Duration idleTimeout) {
+    this.maxStripeSize = Math.max(1, (maxSize + STRIPES - 1) / STRIPES);
+    this.idleNanos = idleTimeout.toNanos();
+    this.stripes = new LinkedHashMap[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new LinkedHashMap<>(16, 0.75f, true);
+    }
+  }
+
+  @Override public Bucket get(String key, Function<String, Bucket> factory) {
+    long now = System.nanoTime();
+    LinkedHashMap<String, Entry> stripe = stripes[stripe(key)];
+    synchronized (stripe) {
+      Entry entry = stripe.get(key);
+      if (entry != null && now - entry.lastAccess < idleNanos) {
+        entry.lastAccess = now;
+        return entry.bucket;
+      }
+      if (entry != null) {
+        stripe.remove(key);
+        evictions.increment();
+      }
+      evict(stripe, now);
+      Bucket bucket = factory.apply(key);
+      stripe.put(key, new Entry(bucket, now));
+      return bucket;
+    }
+  }
+
+  @Override public long size() {
+    long size = 0;
+    for (LinkedHashMap<String, Entry> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  @Override public long evictions() {
+    return evictions.sum();
+  }
+
+  private void evict(LinkedHashMap<String, Entry> stripe, long now) {
+    Iterator<Map.Entry<String, Entry>> it = stripe.entrySet().iterator();
+    long size = stripe.size();
+    while (it.hasNext()) {
+      Entry eldest = it.next().getValue();
+      if (size >= maxStripeSize || now - eldest.lastAccess >= idleNanos) {
+        it.remove();
+        size -= 1;
+        evictions.increment();
+      } else {
+        break;
+      }
+    }
+  }
+
+  private int stripe(String key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & (STRIPES - 1);
+  }
+}
@@ -10,20 +10,53 @@ import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+/**
+ * Memory session store. Expiration works like a timer wheel: sessions are grouped by the second
+ * they expire at, every access moves the session to a new slot (constant time). Expired slots are
+ * swept at most once per second, so the expiration cost is amortized over requests and lookups
+ * never iterate the whole store.
+ */
 public class MemorySessionStore extends SessionStore.InMemory {
 
-  private ConcurrentHashMap<String, Data> sessions = new ConcurrentHashMap<>();
+  /** Size of a expiration slot in millis. */
+  private static final long TICK = 1000;
+
+  private static class Entry {
+    private final Data data;
+
+    private final long slot;
+
+    Entry(Data data, long slot) {
+      this.data = data;
+      this.slot = slot;
+    }
+  }
+
+  private ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+
+  private ConcurrentSkipListMap<Long, Set<String>> slots = new ConcurrentSkipListMap<>();
+
+  private AtomicLong lastSweep = new AtomicLong();
+
+  private LongAdder evictions = new LongAdder();
 
   private Duration timeout;
 
+  private Clock clock = Clock.systemUTC();
+
   public MemorySessionStore(SessionToken token, Duration timeout) {
     super(token);
     this.timeout = Optional.ofNullable(timeout)
@@ -33,19 +66,38 @@ public class MemorySessionStore extends SessionStore.InMemory {
 
   @Override protected Data getOrCreate(String sessionId,
       Function<String, Data> factory) {
-    return sessions.computeIfAbsent(sessionId, factory);
+    Entry entry = sessions.computeIfAbsent(sessionId, id -> schedule(id, factory.apply(id), 0));
+    return entry.data;
   }
 
   @Override protected Data getOrNull(String sessionId) {
-    return sessions.get(sessionId);
+    Entry entry = sessions.get(sessionId);
+    if (entry == null) {
+      return null;
+    }
+    if (timeout != null && entry.data.isExpired(timeout, now())) {
+      // Expired but not swept yet
+      if (sessions.remove(sessionId, entry)) {
+        unschedule(sessionId, entry.slot);
+        evictions.increment();
+      }
+      return null;
+    }
+    return entry.data;
   }
 
   @Override protected Data remove(String sessionId) {
-    return sessions.remove(sessionId);
+    Entry entry = sessions.remove(sessionId);
+    if (entry == null) {
+      return null;
+    }
+    unschedule(sessionId, entry.slot);
+    return entry.data;
   }
 
   @Override protected void put(String sessionId, Data data) {
-    sessions.put(sessionId, data);
+    sessions.compute(sessionId,
+        (id, existing) -> schedule(id, data, existing == null ? 0 : existing.slot));
   }
 
   @Override public Session findSession(Context ctx) {
@@ -53,17 +105,62 @@ public class MemorySessionStore extends SessionStore.InMemory {
     return super.findSession(ctx);
   }
 
+  @Override public long getSessionCount() {
+    return sessions.size();
+  }
+
+  @Override public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  private Entry schedule(String sessionId, Data data, long previousSlot) {
+    if (timeout == null) {
+      return new Entry(data, 0);
+    }
+    // Sessions on this slot are expired once the clock reaches the start of the slot
+    long slot = (clock.millis() + timeout.toMillis()) / TICK + 1;
+    if (slot != previousSlot) {
+      unschedule(sessionId, previousSlot);
+      slots.computeIfAbsent(slot, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+    }
+    return new Entry(data, slot);
+  }
+
+  private void unschedule(String sessionId, long slot) {
+    if (slot > 0) {
+      Set<String> ids = slots.get(slot);
+      if (ids != null) {
+        ids.remove(sessionId);
+      }
+    }
+  }
+
   /**
-   * Check for expired session and delete them.
+   * Delete expired sessions. Only one thread sweeps at a time and at most once per tick.
    */
   private void purge() {
     if (timeout != null) {
-      Iterator<Map.Entry<String, Data>> iterator = sessions.entrySet().iterator();
-      while (iterator.hasNext()) {
-        Map.Entry<String, Data> entry = iterator.next();
-        Data session = entry.getValue();
-        if (session.isExpired(timeout)) {
-          iterator.remove();
+      long now = clock.millis() / TICK;
+      long last = lastSweep.get();
+      if (now > last && lastSweep.compareAndSet(last, now)) {
+        ConcurrentNavigableMap<Long, Set<String>> expired = slots.headMap(now, true);
+        Map.Entry<Long, Set<String>> slot;
+        while ((slot = expired.pollFirstEntry()) != null) {
+          long key = slot.getKey();
+          for (String sessionId : slot.getValue()) {
+            sessions.computeIfPresent(sessionId, (id, entry) -> {
+              if (entry.slot != key) {
+                // moved to a new slot
+                return entry;
+              }
+              if (entry.data.isExpired(timeout, now())) {
+                evictions.increment();
+                return null;
+              }
+              // clock skew, try on next slot
+              return schedule(id, entry.data, 0);
+            });
+          }
         }
       }
     }
@@ -74,4 +171,19 @@ public class MemorySessionStore extends SessionStore.InMemory {
     return this;
   }
 
+  @Override protected Instant now() {
+    return clock.instant();
+  }
+
+  /**
+   * Set the clock used for expiration. Useful for testing.
+   *
+   * @param clock Clock.
+   * @return This store.
+   */
+  public MemorySessionStore setClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
 }
@@ -0,0 +1,82 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only path variable map backed by the route path keys and the values extracted by the
+ * router. Routes have few path variables, so lookup is a linear scan over keys.
+ */
+class PathMap extends AbstractMap<String, String> {
+
+  private final List<String> keys;
+
+  private final String[] values;
+
+  private final int size;
+
+  PathMap(List<String> keys, String[] values, int size) {
+    this.keys = keys;
+    this.values = values;
+    this.size = size;
+  }
+
+  @Override public int size() {
+    return size;
+  }
+
+  @Override public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override public String get(Object key) {
+    int i = indexOf(key);
+    return i < 0 ? null : values[i];
+  }
+
+  @Override public Set<Entry<String, String>> entrySet() {
+    return new AbstractSet<Entry<String, String>>() {
+      @Override public Iterator<Entry<String, String>> iterator() {
+        return new Iterator<Entry<String, String>>() {
+          int index;
+
+          @Override public boolean hasNext() {
+            return index < size;
+          }
+
+          @Override public Entry<String, String> next() {
+            if (index >= size) {
+              throw new NoSuchElementException();
+            }
+            int i = index++;
+            return new SimpleImmutableEntry<>(keys.get(i), values[i]);
+          }
+        };
+      }
+
+      @Override public int size() {
+        return size;
+      }
+    };
+  }
+
+  private int indexOf(Object key) {
+    // last one wins on duplicated keys
+    for (int i = size - 1; i >= 0; i--) {
+      if (keys.get(i).equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -40,141 +40,153 @@ import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
+/**
+ * Computes the execution pipeline of a route from its return type. Optional reactive and Kotlin
+ * types are resolved once per class loader and the handler kind is cached per return type, so
+ * computing thousands of routes doesn't probe the class loader for each one of them.
+ */
 public class Pipeline {
 
+  private enum Kind {
+    COMPLETION_STAGE,
+    RX_SINGLE,
+    RX_MAYBE,
+    RX_FLOWABLE,
+    RX_OBSERVABLE,
+    RX_DISPOSABLE,
+    REACTOR_FLUX,
+    REACTOR_MONO,
+    KOTLIN_JOB,
+    KOTLIN_CONTINUATION,
+    REACTIVE_PUBLISHER,
+    CONTEXT,
+    INPUT_STREAM,
+    FILE_CHANNEL,
+    FILE_DOWNLOAD,
+    CHAR_SEQUENCE,
+    BYTE_ARRAY,
+    BYTE_BUFFER,
+    DEFAULT
+  }
+
+  /** Known types in lookup order. Optional types are present when the class loader has them. */
+  private final Map<Class<?>, Kind> types = new LinkedHashMap<>();
+
+  /** Resolved kind by route return type. */
+  private final Map<Class<?>, Kind> kinds = new ConcurrentHashMap<>();
+
+  public Pipeline(ClassLoader loader) {
+    types.put(CompletionStage.class, Kind.COMPLETION_STAGE);
+    /** Rx 2: */
+    optional(loader, "io.reactivex.Single", Kind.RX_SINGLE);
+    optional(loader, "io.reactivex.Maybe", Kind.RX_MAYBE);
+    optional(loader, "io.reactivex.Flowable", Kind.RX_FLOWABLE);
+    optional(loader, "io.reactivex.Observable", Kind.RX_OBSERVABLE);
+    optional(loader, "io.reactivex.disposables.Disposable", Kind.RX_DISPOSABLE);
+    /** Reactor: */
+    optional(loader, "reactor.core.publisher.Flux", Kind.REACTOR_FLUX);
+    optional(loader, "reactor.core.publisher.Mono", Kind.REACTOR_MONO);
+    /** Kotlin: */
+    optional(loader, "kotlinx.coroutines.Deferred", Kind.KOTLIN_JOB);
+    optional(loader, "kotlinx.coroutines.Job", Kind.KOTLIN_JOB);
+    optional(loader, "kotlin.coroutines.Continuation", Kind.KOTLIN_CONTINUATION);
+    /** ReactiveStream: */
+    optional(loader, "org.reactivestreams.Publisher", Kind.REACTIVE_PUBLISHER);
+
+    types.put(Context.class, Kind.CONTEXT);
+    types.put(InputStream.class, Kind.INPUT_STREAM);
+    types.put(FileChannel.class, Kind.FILE_CHANNEL);
+    types.put(Path.class, Kind.FILE_CHANNEL);
+    types.put(File.class, Kind.FILE_CHANNEL);
+    types.put(FileDownload.class, Kind.FILE_DOWNLOAD);
+    types.put(CharSequence.class, Kind.CHAR_SEQUENCE);
+    types.put(byte[].class, Kind.BYTE_ARRAY);
+    types.put(ByteBuffer.class, Kind.BYTE_BUFFER);
+  }
+
   public static Handler compute(ClassLoader loader, Route route, ExecutionMode mode,
       Executor executor, ContextInitializer initializer, List<ResponseHandler> responseHandler) {
+    return new Pipeline(loader).compute(route, mode, executor, initializer, responseHandler);
+  }
+
+  public Handler compute(Route route, ExecutionMode mode, Executor executor,
+      ContextInitializer initializer, List<ResponseHandler> responseHandler) {
     Type returnType = route.getReturnType();
-    Class<?> type = Reified.rawType(returnType);
-    if (CompletionStage.class.isAssignableFrom(type)) {
-      return completableFuture(mode, route, executor, initializer);
-    }
-    /** Rx 2: */
-    // Single:
-    Optional<Class> single = loadClass(loader, "io.reactivex.Single");
-    if (single.isPresent()) {
-      if (single.get().isAssignableFrom(type)) {
+    Kind kind = kinds.computeIfAbsent(Reified.rawType(returnType), this::kind);
+    switch (kind) {
+      case COMPLETION_STAGE:
+        return completableFuture(mode, route, executor, initializer);
+      case RX_SINGLE:
         return single(mode, route, executor, initializer);
-      }
-    }
-    // Maybe:
-    Optional<Class> maybe = loadClass(loader, "io.reactivex.Maybe");
-    if (maybe.isPresent()) {
-      if (maybe.get().isAssignableFrom(type)) {
+      case RX_MAYBE:
         return rxMaybe(mode, route, executor, initializer);
-      }
-    }
-    // Flowable:
-    Optional<Class> flowable = loadClass(loader, "io.reactivex.Flowable");
-    if (flowable.isPresent()) {
-      if (flowable.get().isAssignableFrom(type)) {
+      case RX_FLOWABLE:
         return rxFlowable(mode, route, executor, initializer);
-      }
-    }
-    // Observable:
-    Optional<Class> observable = loadClass(loader, "io.reactivex.Observable");
-    if (observable.isPresent()) {
-      if (observable.get().isAssignableFrom(type)) {
+      case RX_OBSERVABLE:
         return rxObservable(mode, route, executor, initializer);
-      }
-    }
-    // Disposable
-    Optional<Class> disposable = loadClass(loader, "io.reactivex.disposables.Disposable");
-    if (disposable.isPresent()) {
-      if (disposable.get().isAssignableFrom(type)) {
+      case RX_DISPOSABLE:
         return rxDisposable(mode, route, executor, initializer);
-      }
-    }
-    /** Reactor: */
-    // Flux:
-    Optional<Class> flux = loadClass(loader, "reactor.core.publisher.Flux");
-    if (flux.isPresent()) {
-      if (flux.get().isAssignableFrom(type)) {
+      case REACTOR_FLUX:
         return reactorFlux(mode, route, executor, initializer);
-      }
-    }
-    // Mono:
-    Optional<Class> mono = loadClass(loader, "reactor.core.publisher.Mono");
-    if (mono.isPresent()) {
-      if (mono.get().isAssignableFrom(type)) {
+      case REACTOR_MONO:
         return reactorMono(mode, route, executor, initializer);
-      }
-    }
-    /** Kotlin: */
-    Optional<Class> deferred = loadClass(loader, "kotlinx.coroutines.Deferred");
-    if (deferred.isPresent()) {
-      if (deferred.get().isAssignableFrom(type)) {
-        return kotlinJob(mode, route, executor, initializer);
-      }
-    }
-    Optional<Class> job = loadClass(loader, "kotlinx.coroutines.Job");
-    if (job.isPresent()) {
-      if (job.get().isAssignableFrom(type)) {
+      case KOTLIN_JOB:
         return kotlinJob(mode, route, executor, initializer);
-      }
-    }
-    Optional<Class> continuation = loadClass(loader, "kotlin.coroutines.Continuation");
-    if (continuation.isPresent()) {
-      if (continuation.get().isAssignableFrom(type)) {
+      case KOTLIN_CONTINUATION:
         return kotlinContinuation(mode, route, executor, initializer);
-      }
-    }
-
-    /** ReactiveStream: */
-    Optional<Class> publisher = loadClass(loader, "org.reactivestreams.Publisher");
-    if (publisher.isPresent()) {
-      if (publisher.get().isAssignableFrom(type)) {
+      case REACTIVE_PUBLISHER:
         return reactivePublisher(mode, route, executor, initializer);
-      }
+      case CONTEXT:
+        if (executor == null && mode == ExecutionMode.EVENT_LOOP) {
+          return next(mode, executor, new DetachHandler(route.getPipeline()), false);
+        }
+        return next(mode, executor, decorate(route, initializer, new SendDirect(route.getPipeline())), true);
+      case INPUT_STREAM:
+        return next(mode, executor, decorate(route, initializer, new SendStream(route.getPipeline())), true);
+      case FILE_CHANNEL:
+        return next(mode, executor, decorate(route, initializer, new SendFileChannel(route.getPipeline())), true);
+      case FILE_DOWNLOAD:
+        return next(mode, executor, decorate(route, initializer, new SendAttachment(route.getPipeline())), true);
+      case CHAR_SEQUENCE:
+        return next(mode, executor, decorate(route, initializer, new SendCharSequence(route.getPipeline())), true);
+      case BYTE_ARRAY:
+        return next(mode, executor, decorate(route, initializer, new SendByteArray(route.getPipeline())), true);
+      case BYTE_BUFFER:
+        return next(mode, executor, decorate(route, initializer, new SendByteBuffer(route.getPipeline())), true);
+      default:
+        if (responseHandler != null) {
+          for (ResponseHandler factory : responseHandler) {
+            if (factory.matches(returnType)) {
+              return next(mode, executor, decorate(route, initializer, factory.create(route.getPipeline())), true);
+            }
+          }
+        }
+        return next(mode, executor, decorate(route, initializer, new DefaultHandler(route.getPipeline())), true);
     }
-    /** Context: */
-    if (Context.class.isAssignableFrom(type)) {
-      if (executor == null && mode == ExecutionMode.EVENT_LOOP) {
-        return next(mode, executor, new DetachHandler(route.getPipeline()), false);
+  }
+
+  private Kind kind(Class<?> type) {
+    for (Map.Entry<Class<?>, Kind> e : types.entrySet()) {
+      if (e.getKey().isAssignableFrom(type)) {
+        return e.getValue();
       }
-      return next(mode, executor, decorate(route, initializer, new SendDirect(route.getPipeline())), true);
-    }
-    /** InputStream: */
-    if (InputStream.class.isAssignableFrom(type)) {
-      return next(mode, executor, decorate(route, initializer, new SendStream(route.getPipeline())), true);
-    }
-    /** FileChannel: */
-    if (FileChannel.class.isAssignableFrom(type) || Path.class.isAssignableFrom(type) || File.class
-        .isAssignableFrom(type)) {
-      return next(mode, executor, decorate(route, initializer, new SendFileChannel(route.getPipeline())), true);
-    }
-    /** FileDownload: */
-    if (FileDownload.class.isAssignableFrom(type)) {
-      return next(mode, executor, decorate(route, initializer, new SendAttachment(route.getPipeline())), true);
-    }
-    /** Strings: */
-    if (CharSequence.class.isAssignableFrom(type)) {
-      return next(mode, executor, decorate(route, initializer, new SendCharSequence(route.getPipeline())), true);
-    }
-    /** RawByte: */
-    if (byte[].class == type) {
-      return next(mode, executor, decorate(route, initializer, new SendByteArray(route.getPipeline())), true);
-    }
-    if (ByteBuffer.class.isAssignableFrom(type)) {
-      return next(mode, executor, decorate(route, initializer, new SendByteBuffer(route.getPipeline())), true);
     }
+    return Kind.DEFAULT;
+  }
 
-    if (responseHandler != null) {
-      return responseHandler.stream().filter(it -> it.matches(returnType))
-          .findFirst()
-          .map(factory ->
-              next(mode, executor, decorate(route, initializer, factory.create(route.getPipeline())), true)
-          )
-          .orElseGet(
-              () -> next(mode, executor, decorate(route, initializer, new DefaultHandler(route.getPipeline())),
-                  true));
+  private void optional(ClassLoader loader, String name, Kind kind) {
+    try {
+      types.put(loader.loadClass(name), kind);
+    } catch (ClassNotFoundException x) {
+      // not on classpath
     }
-    return next(mode, executor, decorate(route, initializer, new DefaultHandler(route.getPipeline())), true);
   }
 
   private static Handler decorate(Route route, ContextInitializer initializer, Handler handler) {
@@ -264,12 +276,4 @@ public class Pipeline {
     }
     return new DispatchHandler(handler, executor);
   }
-
-  private static Optional<Class> loadClass(ClassLoader loader, String name) {
-    try {
-      return Optional.of(loader.loadClass(name));
-    } catch (ClassNotFoundException x) {
-      return Optional.empty();
-    }
-  }
 }
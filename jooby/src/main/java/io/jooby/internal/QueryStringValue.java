@@ -7,18 +7,219 @@ package io.jooby.internal;
 
 import io.jooby.Context;
 import io.jooby.QueryString;
+import io.jooby.ValueNode;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Query string parsed on demand. Parameters are indexed (name/value offsets) on first access and
+ * only parameters of the requested key are decoded by {@link #get(String)}. The full tree of
+ * nodes is built when all the parameters are required (iteration, bean binding, etc.).
+ */
 public class QueryStringValue extends HashValue implements QueryString {
+  private static final int PARAMS_LIMIT = 1024;
+
   private String queryString;
 
+  /** Parameter offsets, see {@link UrlParser#indexParams(String, int, int)}. */
+  private int[] index;
+
+  /** Keys already decoded by {@link #get(String)}. */
+  private Set<String> resolved;
+
+  private boolean parsed;
+
   public QueryStringValue(Context ctx, String queryString) {
     super(ctx);
     this.queryString = queryString;
+    this.parsed = queryString.length() == 0;
   }
 
   @Nonnull @Override public String queryString() {
     return queryString;
   }
+
+  @Override public ValueNode get(@Nonnull String name) {
+    if (!parsed) {
+      if (resolved == null) {
+        resolved = new HashSet<>();
+      }
+      if (resolved.add(name) && !decodeKey(name)) {
+        parse();
+      }
+    }
+    return super.get(name);
+  }
+
+  @Override public int size() {
+    parse();
+    return super.size();
+  }
+
+  @Override public String value() {
+    parse();
+    return super.value();
+  }
+
+  @Override public Iterator<ValueNode> iterator() {
+    parse();
+    return super.iterator();
+  }
+
+  @Nonnull @Override public <T> List<T> toList(@Nonnull Class<T> type) {
+    parse();
+    return super.toList(type);
+  }
+
+  @Nonnull @Override public <T> Set<T> toSet(@Nonnull Class<T> type) {
+    parse();
+    return super.toSet(type);
+  }
+
+  @Nonnull @Override public <T> Optional<T> toOptional(@Nonnull Class<T> type) {
+    parse();
+    return super.toOptional(type);
+  }
+
+  @Override public Map<String, List<String>> toMultimap() {
+    parse();
+    return super.toMultimap();
+  }
+
+  @Override public String toString() {
+    parse();
+    return super.toString();
+  }
+
+  /**
+   * Decode parameters of the given key.
+   *
+   * @param key Top level key.
+   * @return False when a parameter name can't be matched without a full parse.
+   */
+  private boolean decodeKey(String key) {
+    int[] index = index();
+    List<Object> params = new ArrayList<>();
+    for (int i = 0; i < index.length; i += 3) {
+      int nameStart = index[i];
+      int nameEnd = index[i + 1] - 1;
+      if (isSimpleName(nameStart, nameEnd)) {
+        int len = nameEnd - nameStart;
+        if (len == key.length() && queryString.regionMatches(nameStart, key, 0, len)) {
+          params.add(key);
+          params.add(i);
+        }
+      } else {
+        String path = UrlParser.decodeComponent(queryString, nameStart, nameEnd);
+        String top = topKey(path);
+        if (top == null) {
+          return false;
+        }
+        if (top.equals(key)) {
+          params.add(path);
+          params.add(i);
+        }
+      }
+    }
+    for (int i = 0; i < params.size(); i += 2) {
+      put((String) params.get(i), value((Integer) params.get(i + 1)));
+    }
+    return true;
+  }
+
+  private void parse() {
+    if (parsed) {
+      return;
+    }
+    parsed = true;
+    // keep nodes returned by get(String), so callers (like bean binding) see the same instances
+    Map<String, ValueNode> decoded = new HashMap<>();
+    if (resolved != null) {
+      for (String key : resolved) {
+        ValueNode node = super.get(key);
+        if (!(node instanceof MissingValue)) {
+          decoded.put(key, node);
+        }
+      }
+      resolved = null;
+    }
+    clear();
+    int[] index = index();
+    for (int i = 0; i < index.length; i += 3) {
+      int nameStart = index[i];
+      int nameEnd = index[i + 1] - 1;
+      String path = UrlParser.decodeComponent(queryString, nameStart, nameEnd);
+      if (decoded.isEmpty()) {
+        put(path, value(i));
+      } else {
+        String key = isSimpleName(nameStart, nameEnd) ? path : topKey(path);
+        ValueNode node = key == null ? null : decoded.get(key);
+        if (node == null) {
+          if (key == null || !decoded.containsKey(key)) {
+            put(path, value(i));
+          }
+        } else {
+          // first parameter of a decoded key, the node already has all the values.
+          put(key, node);
+          decoded.put(key, null);
+        }
+      }
+    }
+    this.index = null;
+  }
+
+  private int[] index() {
+    if (index == null) {
+      // skip the '?' prefix, the raw query string might have its own
+      index = UrlParser.indexParams(queryString, 1, PARAMS_LIMIT);
+    }
+    return index;
+  }
+
+  private String value(int i) {
+    return UrlParser.decodeComponent(queryString, index[i + 1], index[i + 2]);
+  }
+
+  /**
+   * True when the raw name is a top level key that doesn't require decoding.
+   */
+  private boolean isSimpleName(int start, int end) {
+    for (int i = start; i < end; i++) {
+      switch (queryString.charAt(i)) {
+        case '.':
+        case '[':
+        case ']':
+        case '%':
+        case '+':
+          return false;
+        default:
+          // continue
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Top level key of a decoded path (see {@link HashValue#put(String, String)}) or
+   * <code>null</code> when it can't be found cheaply.
+   */
+  private static String topKey(String path) {
+    for (int i = 0; i < path.length(); i++) {
+      char ch = path.charAt(i);
+      if (ch == '.' || ch == '[') {
+        return i > 0 ? path.substring(0, i) : null;
+      } else if (ch == ']') {
+        return null;
+      }
+    }
+    return path;
+  }
 }
@@ -0,0 +1,234 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Jooby;
+import io.jooby.Route;
+import io.jooby.SneakyThrows;
+import io.jooby.internal.asm.ClassSource;
+import io.jooby.internal.asm.Lambdas;
+import io.jooby.internal.asm.TypeParser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Route return types computed at build time. Saves {@link RouterImpl} from reading and analyzing
+ * the bytecode of every lambda handler at startup.
+ *
+ * The index is a <code>META-INF/jooby/route.index</code> file with one line per route: method,
+ * pattern, handler and return type signature, separated by tab. It is generated by the
+ * <code>jooby:index</code> Maven goal or the <code>joobyIndex</code> Gradle task.
+ *
+ * The handler is the lambda implementation method (or handler class). An entry is used only when
+ * the route at startup has the same handler, so routes registered conditionally (per environment
+ * for example) never get the return type of another route.
+ *
+ * The index is ignored while running from <code>joobyRun</code>, because classes are recompiled
+ * on the fly there and the index might be stale.
+ */
+public class RouteIndex {
+
+  /** Location of the index. */
+  public static final String PATH = "META-INF/jooby/route.index";
+
+  /** Same as Jooby.JOOBY_RUN_HOOK. */
+  private static final String JOOBY_RUN_HOOK = "___jooby_run_hook__";
+
+  /** Same as Jooby.ROUTE_INDEX_HOOK. */
+  private static final String ROUTE_INDEX_HOOK = "___jooby_route_index__";
+
+  private static final char SEPARATOR = '\t';
+
+  private final Map<String, String> signatures;
+
+  private final TypeParser parser;
+
+  private RouteIndex(TypeParser parser, Map<String, String> signatures) {
+    this.parser = parser;
+    this.signatures = signatures;
+  }
+
+  /**
+   * Return type of the given route or <code>null</code> when route is not indexed.
+   *
+   * @param route Route.
+   * @return Return type or <code>null</code>.
+   */
+  public @Nullable Type returnType(@Nonnull Route route) {
+    String handler = handler(route.getHandle());
+    if (handler == null) {
+      return null;
+    }
+    String signature = signatures.get(key(route.getMethod(), route.getPattern(), handler));
+    return signature == null ? null : parser.parseTypeDescriptor(signature);
+  }
+
+  /**
+   * Load route index from class loader.
+   *
+   * @param loader Class loader.
+   * @return Route index or <code>null</code> when there is no index.
+   */
+  public static @Nullable RouteIndex load(@Nonnull ClassLoader loader) {
+    if (System.getProperty(JOOBY_RUN_HOOK) != null) {
+      return null;
+    }
+    try (InputStream in = loader.getResourceAsStream(PATH)) {
+      if (in == null) {
+        return null;
+      }
+      Map<String, String> signatures = new HashMap<>();
+      BufferedReader reader = new BufferedReader(
+          new InputStreamReader(in, StandardCharsets.UTF_8));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int i = line.lastIndexOf(SEPARATOR);
+        if (i > 0) {
+          signatures.put(line.substring(0, i), line.substring(i + 1));
+        }
+      }
+      return new RouteIndex(new TypeParser(loader), signatures);
+    } catch (IOException x) {
+      throw SneakyThrows.propagate(x);
+    }
+  }
+
+  /**
+   * Creates the application and write a route index into the output directory.
+   *
+   * The application is created but not started. Extensions are not installed while creating the
+   * application, so the build never opens database pools or connections. Routes registered by
+   * extensions are not indexed and they are analyzed at startup.
+   *
+   * @param loader Class loader with application classes and dependencies.
+   * @param mainClass Application class. Must have a default constructor.
+   * @param outputDir Output directory, usually where application classes are.
+   * @return Path of generated index.
+   * @throws Exception If something goes wrong.
+   */
+  public static @Nonnull Path generate(@Nonnull ClassLoader loader, @Nonnull String mainClass,
+      @Nonnull Path outputDir) throws Exception {
+    Thread thread = Thread.currentThread();
+    ClassLoader contextLoader = thread.getContextClassLoader();
+    String hook = System.setProperty(ROUTE_INDEX_HOOK, "true");
+    try {
+      thread.setContextClassLoader(loader);
+      Class<?> appClass = loader.loadClass(mainClass);
+      if (!Jooby.class.isAssignableFrom(appClass)) {
+        throw new IllegalArgumentException(
+            "Route index requires a Jooby application class, found: " + mainClass);
+      }
+      Jooby app = (Jooby) appClass.getDeclaredConstructor().newInstance();
+      return write(loader, app, outputDir.resolve(PATH));
+    } finally {
+      thread.setContextClassLoader(contextLoader);
+      if (hook == null) {
+        System.clearProperty(ROUTE_INDEX_HOOK);
+      } else {
+        System.setProperty(ROUTE_INDEX_HOOK, hook);
+      }
+    }
+  }
+
+  static Path write(ClassLoader loader, Jooby app, Path output) throws IOException {
+    ClassSource source = new ClassSource(loader);
+    try {
+      RouteAnalyzer analyzer = new RouteAnalyzer(source, false);
+      Files.createDirectories(output.getParent());
+      try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+        for (Route route : app.getRoutes()) {
+          String handler = handler(route.getHandle());
+          if (handler == null) {
+            // can't be matched at startup
+            continue;
+          }
+          Type returnType = route.getReturnType();
+          if (returnType == null) {
+            returnType = analyzer.returnType(route.getHandle());
+          }
+          writer.append(key(route.getMethod(), route.getPattern(), handler))
+              .append(SEPARATOR)
+              .append(signature(returnType))
+              .append('\n');
+        }
+      }
+      return output;
+    } finally {
+      source.destroy();
+    }
+  }
+
+  static String signature(Type type) {
+    if (type instanceof Class) {
+      return org.objectweb.asm.Type.getDescriptor((Class) type);
+    }
+    if (type instanceof ParameterizedType) {
+      ParameterizedType parameterized = (ParameterizedType) type;
+      String raw = signature(parameterized.getRawType());
+      StringBuilder signature = new StringBuilder(raw.substring(0, raw.length() - 1));
+      signature.append('<');
+      for (Type arg : parameterized.getActualTypeArguments()) {
+        signature.append(signature(arg));
+      }
+      return signature.append(">;").toString();
+    }
+    if (type instanceof GenericArrayType) {
+      return "[" + signature(((GenericArrayType) type).getGenericComponentType());
+    }
+    if (type instanceof WildcardType) {
+      return signature(((WildcardType) type).getUpperBounds()[0]);
+    }
+    if (type instanceof TypeVariable) {
+      return signature(((TypeVariable) type).getBounds()[0]);
+    }
+    return signature(Object.class);
+  }
+
+  /**
+   * Handler identity that is stable between runs: the implementation method of a lambda or the
+   * handler class name. Lambda classes are generated at runtime, so their names can't be used.
+   *
+   * @param handle Route handle.
+   * @return Handler identity or <code>null</code>.
+   */
+  static String handler(Object handle) {
+    try {
+      SerializedLambda lambda = Lambdas.getSerializedLambda(handle);
+      if (lambda != null) {
+        return lambda.getImplClass() + '.' + lambda.getImplMethodName()
+            + lambda.getImplMethodSignature();
+      }
+    } catch (NoSuchMethodException x) {
+      // not a lambda
+    }
+    Class<?> type = handle.getClass();
+    if (type.isSynthetic()) {
+      return null;
+    }
+    return type.getName();
+  }
+
+  private static String key(String method, String pattern, String handler) {
+    return method + SEPARATOR + pattern + SEPARATOR + handler;
+  }
+}
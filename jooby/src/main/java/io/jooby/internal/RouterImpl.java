@@ -41,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.inject.Provider;
 import java.io.FileNotFoundException;
+import java.lang.reflect.Type;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -544,10 +545,13 @@ public class RouterImpl implements Router {
     ValueConverters.addFallbackConverters(converters);
     ValueConverters.addFallbackBeanConverters(beanConverters);
 
-    ClassSource source = new ClassSource(classLoader);
-    RouteAnalyzer analyzer = new RouteAnalyzer(source, false);
+    /** Build time return types, bytecode analysis is created on demand: */
+    RouteIndex index = RouteIndex.load(classLoader);
+    ClassSource source = null;
+    RouteAnalyzer analyzer = null;
 
     ExecutionMode mode = app.getExecutionMode();
+    Pipeline pipelines = new Pipeline(classLoader);
     for (Route route : routes) {
       String executorKey = route.getExecutorKey();
       Executor executor;
@@ -567,7 +571,15 @@ public class RouterImpl implements Router {
       }
       /** Return type: */
       if (route.getReturnType() == null) {
-        route.setReturnType(analyzer.returnType(route.getHandle()));
+        Type returnType = index == null ? null : index.returnType(route);
+        if (returnType == null) {
+          if (analyzer == null) {
+            source = new ClassSource(classLoader);
+            analyzer = new RouteAnalyzer(source, false);
+          }
+          returnType = analyzer.returnType(route.getHandle());
+        }
+        route.setReturnType(returnType);
       }
 
       /** Default web socket values: */
@@ -587,8 +599,8 @@ public class RouterImpl implements Router {
         route.setBefore(prependMediaType(route.getProduces(), route.getBefore(), Route.ACCEPT));
       }
       /** Response handler: */
-      Route.Handler pipeline = Pipeline
-          .compute(source.getLoader(), route, forceMode(route, mode), executor, postDispatchInitializer, handlers);
+      Route.Handler pipeline = pipelines
+          .compute(route, forceMode(route, mode), executor, postDispatchInitializer, handlers);
       route.setPipeline(pipeline);
       /** Final render */
       route.setEncoder(encoder);
@@ -612,7 +624,9 @@ public class RouterImpl implements Router {
     this.stack = null;
     routeExecutor.clear();
     routeExecutor = null;
-    source.destroy();
+    if (source != null) {
+      source.destroy();
+    }
     return this;
   }
 
@@ -10,8 +10,8 @@ import io.jooby.MessageEncoder;
 import io.jooby.Route;
 import io.jooby.Router;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,38 +19,56 @@ import java.util.stream.Collectors;
 
 public class RouterMatch implements Router.Match {
 
+  private static final String[] EMPTY_VALUES = new String[0];
+
   boolean matches;
 
   private Route route;
 
-  Map vars = Collections.EMPTY_MAP;
+  private List<String> keys = Collections.emptyList();
+
+  /** Path variable values, in order of appearance. Pre-sized by the router. */
+  private String[] values;
+
+  private int size;
+
+  private Map<String, String> vars;
 
   private Route.Handler handler;
 
   public RouterMatch() {
+    this(0);
+  }
+
+  public RouterMatch(int capacity) {
+    this.values = capacity == 0 ? EMPTY_VALUES : new String[capacity];
   }
 
   public void key(List<String> keys) {
-    for (int i = 0; i < Math.min(keys.size(), vars.size()); i++) {
-      vars.put(keys.get(i), vars.remove(i));
-    }
+    this.keys = keys;
+  }
+
+  public int size() {
+    return size;
   }
 
   public void truncate(int size) {
-    while (size < vars.size()) {
-      vars.remove(size++);
+    while (size < this.size) {
+      values[--this.size] = null;
     }
   }
 
   public void value(String value) {
-    if (vars == Collections.EMPTY_MAP) {
-      vars = new LinkedHashMap();
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size + 1);
     }
-    vars.put(vars.size(), value);
+    values[size++] = value;
   }
 
   public void pop() {
-    vars.remove(vars.size() - 1);
+    if (size > 0) {
+      values[--size] = null;
+    }
   }
 
   public void methodNotAllowed(Set<String> allow) {
@@ -71,6 +89,10 @@ public class RouterMatch implements Router.Match {
   }
 
   @Override public Map<String, String> pathMap() {
+    if (vars == null) {
+      int len = Math.min(keys.size(), size);
+      vars = len == 0 ? Collections.emptyMap() : new PathMap(keys, values, len);
+    }
     return vars;
   }
 
@@ -81,7 +103,7 @@ public class RouterMatch implements Router.Match {
   }
 
   public void execute(Context context) {
-    context.setPathMap(vars);
+    context.setPathMap(pathMap());
     context.setRoute(route);
     try {
       route.getPipeline().apply(context);
@@ -91,6 +113,7 @@ public class RouterMatch implements Router.Match {
       this.handler = null;
       this.route = null;
       this.vars = null;
+      this.values = null;
     }
   }
 
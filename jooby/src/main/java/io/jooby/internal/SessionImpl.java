@@ -14,7 +14,10 @@ import io.jooby.ValueNode;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class SessionImpl implements Session {
@@ -33,6 +36,8 @@ public class SessionImpl implements Session {
 
   private boolean modify;
 
+  private Set<String> modified;
+
   public SessionImpl(Context ctx, String id) {
     this(ctx, id, new ConcurrentHashMap<>());
   }
@@ -58,9 +63,16 @@ public class SessionImpl implements Session {
 
   @Nonnull @Override public Session setModify(boolean modify) {
     this.modify = modify;
+    if (!modify && modified != null) {
+      modified.clear();
+    }
     return this;
   }
 
+  @Nonnull @Override public Set<String> getModifiedAttributes() {
+    return modified == null ? Collections.emptySet() : modified;
+  }
+
   @Override public @Nullable String getId() {
     return id;
   }
@@ -75,13 +87,19 @@ public class SessionImpl implements Session {
   }
 
   @Override public @Nonnull Session put(@Nonnull String name, String value) {
-    attributes.put(name, value);
+    String previous = attributes.put(name, value);
+    if (!Objects.equals(previous, value)) {
+      modified(name);
+    }
     updateState();
     return this;
   }
 
   @Override public @Nonnull ValueNode remove(@Nonnull String name) {
     String value = attributes.remove(name);
+    if (value != null) {
+      modified(name);
+    }
     updateState();
     return value == null ? Value.missing(name) : Value.value(ctx, name, value);
   }
@@ -109,6 +127,7 @@ public class SessionImpl implements Session {
   }
 
   @Override public Session clear() {
+    attributes.keySet().forEach(this::modified);
     attributes.clear();
     updateState();
     return this;
@@ -122,12 +141,20 @@ public class SessionImpl implements Session {
 
   @Override public Session renewId() {
     store(ctx).renewSessionId(ctx, this);
+    modify = true;
     updateState();
     return this;
   }
 
-  private void updateState() {
+  private void modified(String name) {
+    if (modified == null) {
+      modified = ConcurrentHashMap.newKeySet();
+    }
+    modified.add(name);
     modify = true;
+  }
+
+  private void updateState() {
     lastAccessedTime = Instant.now();
     store(ctx).touchSession(ctx, this);
   }
@@ -52,7 +52,11 @@ public class SignedSessionStore implements SessionStore {
   }
 
   @Override public void touchSession(@Nonnull Context ctx, @Nonnull Session session) {
-    token.saveToken(ctx, encoder.apply(session.toMap()));
+    if (session.isModify() || session.getId() == null) {
+      // encode and sign only when attributes changed
+      session.setId(encoder.apply(session.toMap())).setModify(false);
+    }
+    token.saveToken(ctx, session.getId());
   }
 
   @Override public void saveSession(@Nonnull Context ctx, @Nonnull Session session) {
@@ -60,6 +64,6 @@ public class SignedSessionStore implements SessionStore {
   }
 
   @Override public void renewSessionId(@Nonnull Context ctx, @Nonnull Session session) {
-    token.saveToken(ctx, encoder.apply(session.toMap()));
+    // NOOP: a renewed session is marked as modified, so it is encoded on touch
   }
 }
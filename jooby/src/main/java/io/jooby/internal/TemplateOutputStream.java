@@ -0,0 +1,50 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal;
+
+import io.jooby.Abortable;
+import io.jooby.Context;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Template output. Writes into {@link Context#responseStream()}, which keeps output in a server
+ * buffer: output that fits is sent with a <code>Content-Length</code> header, bigger output is
+ * streamed using chunked transfer encoding.
+ *
+ * Template engines usually flush their writer once they are done. Flush calls are ignored,
+ * otherwise small pages would be sent as chunked responses.
+ */
+public class TemplateOutputStream extends OutputStream implements Abortable {
+
+  private final OutputStream output;
+
+  public TemplateOutputStream(@Nonnull Context ctx) {
+    this.output = ctx.responseStream();
+  }
+
+  @Override public void write(int b) throws IOException {
+    output.write(b);
+  }
+
+  @Override public void write(@Nonnull byte[] bytes, int offset, int len) throws IOException {
+    output.write(bytes, offset, len);
+  }
+
+  @Override public void flush() {
+    // NOOP: let the response stream decide when to flush
+  }
+
+  @Override public void close() throws IOException {
+    output.close();
+  }
+
+  @Override public void abort(@Nonnull Throwable cause) {
+    Abortable.abort(output, cause);
+  }
+}
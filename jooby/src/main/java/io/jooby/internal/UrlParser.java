@@ -16,6 +16,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 public final class UrlParser {
   private static final char SPACE = 0x20;
@@ -24,9 +25,7 @@ public final class UrlParser {
     if (queryString == null || queryString.length() == 0) {
       return new QueryStringValue(ctx, "");
     }
-    QueryStringValue result = new QueryStringValue(ctx, "?" + queryString);
-    decodeParams(result, queryString, 0, StandardCharsets.UTF_8, 1024);
-    return result;
+    return new QueryStringValue(ctx, "?" + queryString);
   }
 
   public static String decodePathSegment(String value) {
@@ -36,15 +35,22 @@ public final class UrlParser {
     return decodeComponent(value, 0, value.length(), StandardCharsets.UTF_8, true);
   }
 
-  private static void decodeParams(HashValue root, String s, int from, Charset charset,
-      int paramsLimit) {
+  /**
+   * Find parameters without decoding them. Each parameter takes three slots: name start, value
+   * start and value end (name ends at value start - 1).
+   *
+   * @param s Query string.
+   * @param from Start offset.
+   * @param paramsLimit Max number of parameters.
+   * @return Parameter offsets.
+   */
+  static int[] indexParams(String s, int from, int paramsLimit) {
     int len = s.length();
-    if (from >= len) {
-      return;
-    }
-    if (s.charAt(from) == '?') {
+    if (from < len && s.charAt(from) == '?') {
       from++;
     }
+    int[] index = new int[Math.min(paramsLimit, 8) * 3];
+    int count = 0;
     int nameStart = from;
     int valueStart = -1;
     int i;
@@ -60,10 +66,11 @@ public final class UrlParser {
           break;
         case '&':
         case ';':
-          if (addParam(root, s, nameStart, valueStart, i, charset)) {
-            paramsLimit--;
-            if (paramsLimit == 0) {
-              return;
+          if (nameStart < i) {
+            index = addParam(index, count, nameStart, valueStart, i);
+            count += 3;
+            if (count / 3 == paramsLimit) {
+              return Arrays.copyOf(index, count);
             }
           }
           nameStart = i + 1;
@@ -74,21 +81,26 @@ public final class UrlParser {
           // continue
       }
     }
-    addParam(root, s, nameStart, valueStart, i, charset);
+    if (nameStart < i) {
+      index = addParam(index, count, nameStart, valueStart, i);
+      count += 3;
+    }
+    return Arrays.copyOf(index, count);
   }
 
-  private static boolean addParam(HashValue root, String s, int nameStart, int valueStart,
-      int valueEnd, Charset charset) {
-    if (nameStart >= valueEnd) {
-      return false;
+  private static int[] addParam(int[] index, int count, int nameStart, int valueStart,
+      int valueEnd) {
+    if (count + 3 > index.length) {
+      index = Arrays.copyOf(index, index.length * 2);
     }
-    if (valueStart <= nameStart) {
-      valueStart = valueEnd + 1;
-    }
-    String name = decodeComponent(s, nameStart, valueStart - 1, charset, false);
-    String value = decodeComponent(s, valueStart, valueEnd, charset, false);
-    root.put(name, value);
-    return true;
+    index[count] = nameStart;
+    index[count + 1] = valueStart <= nameStart ? valueEnd + 1 : valueStart;
+    index[count + 2] = valueEnd;
+    return index;
+  }
+
+  static String decodeComponent(String s, int from, int toExcluded) {
+    return decodeComponent(s, from, toExcluded, StandardCharsets.UTF_8, false);
   }
 
   private static String decodeComponent(String s, int from, int toExcluded, Charset charset,
@@ -37,6 +37,14 @@ import java.util.Set;
 
 public class ValueConverters {
 
+  /** Bean binding metadata, computed once per type. */
+  private static final ClassValue<ReflectiveBeanConverter.Binder> BEAN_BINDERS =
+      new ClassValue<ReflectiveBeanConverter.Binder>() {
+        @Override protected ReflectiveBeanConverter.Binder computeValue(Class<?> type) {
+          return ReflectiveBeanConverter.binder(type);
+        }
+      };
+
   static List<ValueConverter> defaultConverters() {
     List<ValueConverter> result = new ArrayList<>();
     result.add(new UUIDConverter());
@@ -72,6 +80,16 @@ public class ValueConverters {
     converters.add(new ReflectiveBeanConverter());
   }
 
+  /**
+   * Binder for the given bean type. Binders are created on first use and cached.
+   *
+   * @param type Bean type.
+   * @return Bean binder.
+   */
+  public static ReflectiveBeanConverter.Binder beanBinder(Class<?> type) {
+    return BEAN_BINDERS.get(type);
+  }
+
   public static <T> T convert(ValueNode value, Type type, Router router) {
     Class rawType = $Types.getRawType(type);
     if (List.class.isAssignableFrom(rawType)) {
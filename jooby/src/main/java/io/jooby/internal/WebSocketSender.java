@@ -10,6 +10,7 @@ import io.jooby.Cookie;
 import io.jooby.DefaultContext;
 import io.jooby.ForwardingContext;
 import io.jooby.MediaType;
+import io.jooby.SneakyThrows;
 import io.jooby.StatusCode;
 import io.jooby.WebSocket;
 
@@ -23,24 +24,35 @@ public class WebSocketSender extends ForwardingContext implements DefaultContext
 
   private final WebSocket ws;
 
-  public WebSocketSender(@Nonnull Context context, @Nonnull WebSocket ws) {
+  private final boolean broadcast;
+
+  public WebSocketSender(@Nonnull Context context, @Nonnull WebSocket ws, boolean broadcast) {
     super(context);
     this.ws = ws;
+    this.broadcast = broadcast;
   }
 
   @Nonnull @Override public Context send(@Nonnull String data, @Nonnull Charset charset) {
-    ws.send(data);
+    ws.send(data, broadcast);
     return this;
   }
 
   @Nonnull @Override public Context send(@Nonnull byte[] data) {
-    ws.send(data);
+    ws.send(data, broadcast);
     return this;
   }
 
   @Nonnull @Override public Context render(@Nonnull Object value) {
-    DefaultContext.super.render(value);
-    return this;
+    try {
+      // Web socket messages are always encoded as a whole, never streamed
+      byte[] bytes = getRoute().getEncoder().encode(this, value);
+      if (bytes != null) {
+        send(bytes);
+      }
+      return this;
+    } catch (Exception x) {
+      throw SneakyThrows.propagate(x);
+    }
   }
 
   @Override public Context setResetHeadersOnError(boolean value) {
@@ -13,7 +13,7 @@ import java.lang.reflect.Method;
 public class Lambdas {
 
   // getting the SerializedLambda
-  private static SerializedLambda getSerializedLambda(Object function)
+  public static SerializedLambda getSerializedLambda(Object function)
       throws NoSuchMethodException {
     for (Class<?> clazz = function.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
       try {
@@ -8,16 +8,20 @@ package io.jooby.internal.converter;
 import static io.jooby.SneakyThrows.propagate;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -34,8 +38,18 @@ import io.jooby.ValueNode;
 import io.jooby.exception.BadRequestException;
 import io.jooby.exception.MissingValueException;
 import io.jooby.exception.ProvisioningException;
+import io.jooby.internal.ValueConverters;
 import io.jooby.internal.reflect.$Types;
 
+/**
+ * Bind a {@link ValueNode} to a bean: constructor arguments first, then setters (<code>setX</code>
+ * or <code>x</code> methods) for the remaining values.
+ *
+ * Binding metadata (selected constructor, parameter names and types, setters by property name) is
+ * computed once per bean type and cached by {@link ValueConverters#beanBinder(Class)}, so binding
+ * doesn't select constructors, read annotations or scan methods on every request. Constructor and
+ * setters are invoked through method handles.
+ */
 public class ReflectiveBeanConverter implements BeanConverter {
   private static final String AMBIGUOUS_CONSTRUCTOR =
       "Ambiguous constructor found. Expecting a single constructor or only one annotated with "
@@ -43,34 +57,174 @@ public class ReflectiveBeanConverter implements BeanConverter {
 
   private static final Object[] NO_ARGS = new Object[0];
 
+  private static final MethodType NEW_INSTANCE = MethodType
+      .methodType(Object.class, Object[].class);
+
+  private static final MethodType SETTER = MethodType
+      .methodType(void.class, Object.class, Object.class);
+
+  /**
+   * A constructor or setter parameter.
+   */
+  private static class Property {
+    private final Parameter parameter;
+
+    private final String name;
+
+    private final Class<?> type;
+
+    private final Class<?> elementType;
+
+    private final boolean fileUpload;
+
+    private final boolean elementFileUpload;
+
+    Property(Parameter parameter, String name) {
+      this.parameter = parameter;
+      this.name = name;
+      this.type = parameter.getType();
+      this.elementType = $Types.parameterizedType0(parameter.getParameterizedType());
+      this.fileUpload = isFileUpload(type);
+      this.elementFileUpload = isFileUpload(elementType);
+    }
+  }
+
+  /**
+   * A setter method.
+   */
+  private static class Setter {
+    private final Method method;
+
+    private final Property property;
+
+    /** Created on first use: most one argument methods are never used as setters. */
+    private MethodHandle handle;
+
+    Setter(Method method) {
+      this.method = method;
+      this.property = new Property(method.getParameters()[0], method.getName());
+    }
+
+    void invoke(Object bean, Object arg) throws Throwable {
+      MethodHandle handle = this.handle;
+      if (handle == null) {
+        handle = MethodHandles.publicLookup().unreflect(method).asType(SETTER);
+        this.handle = handle;
+      }
+      handle.invokeExact(bean, arg);
+    }
+  }
+
+  /**
+   * Binding metadata of a bean type.
+   */
+  public static class Binder {
+    private final MethodHandle constructor;
+
+    private final Property[] arguments;
+
+    /** One argument public methods by name (first one wins, like a linear scan). */
+    private final Map<String, Setter> methods = new HashMap<>();
+
+    /** Setter by property name: <code>setX</code> wins over <code>x</code>. */
+    private final Map<String, Setter> setters = new HashMap<>();
+
+    private Binder(Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+      Constructor[] constructors = type.getConstructors();
+      Constructor constructor;
+      if (constructors.length == 0) {
+        constructor = type.getDeclaredConstructor();
+        this.arguments = new Property[0];
+      } else {
+        constructor = selectConstructor(constructors);
+        Parameter[] parameters = constructor.getParameters();
+        this.arguments = new Property[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+          arguments[i] = new Property(parameters[i], paramName(parameters[i]));
+        }
+      }
+      this.constructor = MethodHandles.publicLookup().unreflectConstructor(constructor)
+          .asSpreader(Object[].class, arguments.length)
+          .asType(NEW_INSTANCE);
+      for (Method method : type.getMethods()) {
+        if (method.getParameterCount() == 1 && !methods.containsKey(method.getName())) {
+          methods.put(method.getName(), new Setter(method));
+        }
+      }
+      setters.putAll(methods);
+      for (Map.Entry<String, Setter> e : methods.entrySet()) {
+        String name = e.getKey();
+        if (name.length() > 3 && name.startsWith("set")) {
+          String suffix = name.substring(4);
+          char ch = name.charAt(3);
+          if (Character.isUpperCase(ch)) {
+            setters.put(ch + suffix, e.getValue());
+          }
+          if (Character.toUpperCase(Character.toLowerCase(ch)) == ch) {
+            setters.put(Character.toLowerCase(ch) + suffix, e.getValue());
+          }
+        }
+      }
+    }
+
+    Setter setter(String name) {
+      Setter setter = setters.get(name);
+      if (setter == null && name.length() > 0) {
+        // not indexed, fallback to setter naming convention
+        setter = methods.get("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+      }
+      return setter;
+    }
+
+    /**
+     * Create a new bean from the given value: constructor arguments first, then setters.
+     *
+     * @param node Bean value.
+     * @return New bean.
+     */
+    public Object newInstance(ValueNode node) {
+      try {
+        if (arguments.length == 0) {
+          Object bean = (Object) constructor.invokeExact(NO_ARGS);
+          return setters(this, bean, node, Collections.emptySet());
+        }
+        Set<ValueNode> state = new HashSet<>();
+        Object[] args = new Object[arguments.length];
+        for (int i = 0; i < args.length; i++) {
+          Property argument = arguments[i];
+          ValueNode param = node.get(argument.name);
+          state.add(param);
+          args[i] = value(argument, node, param);
+        }
+        Object bean = (Object) constructor.invokeExact(args);
+        return setters(this, bean, node, state);
+      } catch (Throwable x) {
+        throw propagate(x);
+      }
+    }
+  }
+
   @Override public boolean supports(@Nonnull Class type) {
     return true;
   }
 
   @Override public Object convert(@Nonnull ValueNode node, @Nonnull Class type) {
-    try {
-      return newInstance(type, node);
-    } catch (InstantiationException | IllegalAccessException | NoSuchMethodException x) {
-      throw propagate(x);
-    } catch (InvocationTargetException x) {
-      throw propagate(x.getCause());
-    }
+    return ValueConverters.beanBinder(type).newInstance(node);
   }
 
-  private static <T> T newInstance(Class<T> type, ValueNode node)
-      throws IllegalAccessException, InstantiationException, InvocationTargetException,
-      NoSuchMethodException {
-    Constructor[] constructors = type.getConstructors();
-    if (constructors.length == 0) {
-      return setters(type.getDeclaredConstructor().newInstance(), node,
-          Collections.emptySet());
+  /**
+   * Compute binding metadata for the given bean type. Binders are expensive to create, callers
+   * must cache them.
+   *
+   * @param type Bean type.
+   * @return Binder.
+   */
+  public static Binder binder(Class<?> type) {
+    try {
+      return new Binder(type);
+    } catch (NoSuchMethodException | IllegalAccessException x) {
+      throw propagate(x);
     }
-    Constructor constructor = selectConstructor(constructors);
-    Set<ValueNode> state = new HashSet<>();
-    Object[] args = constructor.getParameterCount() == 0
-        ? NO_ARGS
-        : inject(node, constructor, state::add);
-    return (T) setters(constructor.newInstance(args), node, state);
   }
 
   private static Constructor selectConstructor(Constructor[] constructors) {
@@ -130,27 +284,20 @@ public class ReflectiveBeanConverter implements BeanConverter {
     throw Usage.parameterNameNotPresent(parameter);
   }
 
-  private static <T> T setters(T newInstance, ValueNode node, Set<ValueNode> skip) {
-    Method[] methods = newInstance.getClass().getMethods();
+  private static Object setters(Binder binder, Object newInstance, ValueNode node,
+      Set<ValueNode> skip) {
     for (ValueNode value : node) {
       if (!skip.contains(value)) {
-        String name = value.name();
-        String setter1 = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
-        Method method = findMethod(methods, setter1);
-        if (method == null) {
-          method = findMethod(methods, name);
-        }
-        if (method != null) {
-          Parameter parameter = method.getParameters()[0];
+        Setter setter = binder.setter(value.name());
+        if (setter != null) {
+          Property property = setter.property;
           try {
-            Object arg = value(parameter, node, value);
-            method.invoke(newInstance, arg);
+            Object arg = value(property, node, value);
+            setter.invoke(newInstance, arg);
           } catch (ProvisioningException x) {
             throw x;
-          } catch (InvocationTargetException x) {
-            throw new ProvisioningException(parameter, x.getCause());
-          } catch (Exception x) {
-            throw new ProvisioningException(parameter, x);
+          } catch (Throwable x) {
+            throw new ProvisioningException(property.parameter, x);
           }
         }
       }
@@ -159,56 +306,47 @@ public class ReflectiveBeanConverter implements BeanConverter {
   }
 
   private static Object value(Parameter parameter, ValueNode node, ValueNode value) {
+    return value(new Property(parameter, parameter.getName()), node, value);
+  }
+
+  private static Object value(Property property, ValueNode node, ValueNode value) {
+    Class<?> type = property.type;
     try {
-      if (isFileUpload(node, parameter)) {
+      if ((node instanceof Multipart) && property.fileUpload || property.elementFileUpload) {
         Multipart multipart = (Multipart) node;
-        if (Set.class.isAssignableFrom(parameter.getType())) {
+        if (Set.class.isAssignableFrom(type)) {
           return new HashSet<>(multipart.files(value.name()));
-        } else if (Collection.class.isAssignableFrom(parameter.getType())) {
+        } else if (Collection.class.isAssignableFrom(type)) {
           return multipart.files(value.name());
-        } else if (Optional.class.isAssignableFrom(parameter.getType())) {
+        } else if (Optional.class.isAssignableFrom(type)) {
           List<FileUpload> files = multipart.files(value.name());
           return files.isEmpty() ? Optional.empty() : Optional.of(files.get(0));
         } else {
           return multipart.file(value.name());
         }
       } else {
-        if (Set.class.isAssignableFrom(parameter.getType())) {
-          return value.toSet($Types.parameterizedType0(parameter.getParameterizedType()));
-        } else if (Collection.class.isAssignableFrom(parameter.getType())) {
-          return value.toList($Types.parameterizedType0(parameter.getParameterizedType()));
-        } else if (Optional.class.isAssignableFrom(parameter.getType())) {
-          return value.toOptional($Types.parameterizedType0(parameter.getParameterizedType()));
+        if (Set.class.isAssignableFrom(type)) {
+          return value.toSet(property.elementType);
+        } else if (Collection.class.isAssignableFrom(type)) {
+          return value.toList(property.elementType);
+        } else if (Optional.class.isAssignableFrom(type)) {
+          return value.toOptional(property.elementType);
         } else {
-          if (value.isMissing() && parameter.getType().isPrimitive()) {
+          if (value.isMissing() && type.isPrimitive()) {
             // fail
             value.value();
           }
-          return value.to(parameter.getType());
+          return value.to(type);
         }
       }
     } catch (MissingValueException x) {
-      throw new ProvisioningException(parameter, x);
+      throw new ProvisioningException(property.parameter, x);
     } catch (BadRequestException x) {
-      throw new ProvisioningException(parameter, x);
+      throw new ProvisioningException(property.parameter, x);
     }
   }
 
-  private static boolean isFileUpload(ValueNode node, Parameter parameter) {
-    return (node instanceof Multipart) && isFileUpload(parameter.getType()) || isFileUpload(
-        $Types.parameterizedType0(parameter.getParameterizedType()));
-  }
-
   private static boolean isFileUpload(Class type) {
     return FileUpload.class == type;
   }
-
-  private static Method findMethod(Method[] methods, String name) {
-    for (Method method : methods) {
-      if (method.getName().equals(name) && method.getParameterCount() == 1) {
-        return method;
-      }
-    }
-    return null;
-  }
 }
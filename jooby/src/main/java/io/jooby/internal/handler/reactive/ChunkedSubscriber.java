@@ -11,26 +11,80 @@ import io.jooby.MessageEncoder;
 import io.jooby.Route;
 import io.jooby.Sender;
 import io.jooby.Server;
+import io.jooby.ServerOptions;
 import org.slf4j.Logger;
 
+import java.util.Arrays;
+
+/**
+ * Write elements of a reactive stream as a chunked response.
+ *
+ * Elements are requested in groups of <code>prefetch</code> (see
+ * {@link ServerOptions#getStreamPrefetch()}) and encoded elements are coalesced into a single
+ * write: elements received while a write is in progress, or while requesting more elements, are
+ * appended to a batch buffer that is flushed once the previous write completes or the batch
+ * reaches {@link ServerOptions#getBufferSize()}. JSON array brackets and separators are written
+ * straight into the batch buffer.
+ *
+ * Writes and demand are driven by a loop (<code>drain</code>) that a single thread runs at a time.
+ * Callbacks arriving while the loop is running (a sender that completes writes synchronously, a
+ * publisher that emits from <code>request</code>) only update the state and let the loop pick it
+ * up, so the stack doesn't grow with the number of elements.
+ */
 public class ChunkedSubscriber {
 
   private static final byte JSON_LBRACKET = '[';
   private static final byte JSON_SEP = ',';
-  private static final byte[] JSON_RBRACKET = {']'};
+  private static final byte JSON_RBRACKET = ']';
+
+  private static final int PREFETCH = 32;
+  private static final int BATCH_SIZE = 16 * 1024;
+
   private ChunkedSubscription subscription;
   private final Context ctx;
   private final Sender sender;
+  private final int prefetch;
+  private final int batchSize;
   private MediaType responseType;
 
+  /** Batch buffer, guarded by this. */
+  private byte[] batch;
+  /** Batch length, guarded by this. */
+  private int length;
+  /** Number of elements in the batch, guarded by this. */
+  private int elements;
+  /** True while a write is in progress, guarded by this. */
+  private boolean writing;
+  /** True while a thread runs the drain loop, guarded by this. */
+  private boolean draining;
+  /** Elements to request (written elements), guarded by this. */
+  private long demand;
+  /** True once the stream completes, guarded by this. */
+  private boolean completed;
+  /** True once the response was closed, guarded by this. */
+  private boolean closed;
+  /** True on error, guarded by this. */
+  private boolean errored;
+
   public ChunkedSubscriber(Context ctx) {
     this.ctx = ctx;
     this.sender = ctx.responseSender();
+    ServerOptions options = ctx.getRouter().getServerOptions();
+    if (options == null) {
+      this.prefetch = PREFETCH;
+      this.batchSize = BATCH_SIZE;
+    } else {
+      this.prefetch = Math.max(1, options.getStreamPrefetch());
+      this.batchSize = Math.max(1, options.getBufferSize());
+    }
   }
 
   public void onSubscribe(ChunkedSubscription subscription) {
     this.subscription = subscription;
-    this.subscription.request(1);
+    synchronized (this) {
+      demand += prefetch;
+    }
+    drain();
   }
 
   public void onNext(Object item) {
@@ -39,24 +93,35 @@ public class ChunkedSubscriber {
       MessageEncoder encoder = route.getEncoder();
       byte[] data = encoder.encode(ctx, item);
 
-      if (responseType == null) {
-        responseType = ctx.getResponseType();
-        if (responseType.isJson()) {
-          data = prepend(data, JSON_LBRACKET);
-        }
-      } else {
-        if (responseType.isJson()) {
-          data = prepend(data, JSON_SEP);
+      byte[] chunk = null;
+      int chunkLength = 0;
+      int chunkElements = 0;
+      synchronized (this) {
+        if (errored) {
+          return;
         }
-      }
-
-      sender.write(data, (context, x) -> {
-        if (x == null) {
-          subscription.request(1);
+        if (responseType == null) {
+          responseType = ctx.getResponseType();
+          if (responseType.isJson()) {
+            append(JSON_LBRACKET);
+          }
         } else {
-          onError(x, true);
+          if (responseType.isJson()) {
+            append(JSON_SEP);
+          }
         }
-      });
+        append(data);
+        elements += 1;
+        // while draining, the loop writes the batch once request returns
+        if (!writing && (!draining || length >= batchSize)) {
+          chunkLength = length;
+          chunkElements = elements;
+          chunk = take();
+        }
+      }
+      if (chunk != null) {
+        write(chunk, chunkLength, chunkElements);
+      }
     } catch (Exception x) {
       onError(x, true);
     }
@@ -67,8 +132,14 @@ public class ChunkedSubscriber {
   }
 
   private void onError(Throwable x, boolean cancel) {
-    // we use it to mark the response as errored so we don't sent a possible trailing json response.
-    responseType = null;
+    synchronized (this) {
+      // we use it to mark the response as errored so we don't sent a possible trailing json response.
+      responseType = null;
+      errored = true;
+      batch = null;
+      length = 0;
+      elements = 0;
+    }
     try {
       Logger log = ctx.getRouter().getLog();
       if (Server.connectionLost(x)) {
@@ -84,21 +155,125 @@ public class ChunkedSubscriber {
   }
 
   public void onComplete() {
-    if (responseType != null && responseType.isJson()) {
-      responseType = null;
-      sender.write(JSON_RBRACKET, (ctx, x) -> {
-        if (x != null) {
-          onError(x);
+    synchronized (this) {
+      if (errored || completed) {
+        return;
+      }
+      completed = true;
+      if (responseType != null && responseType.isJson()) {
+        responseType = null;
+        append(JSON_RBRACKET);
+      }
+    }
+    drain();
+  }
+
+  private void onWrite(int written, Throwable x) {
+    if (x != null) {
+      onError(x, true);
+      return;
+    }
+    synchronized (this) {
+      writing = false;
+      // replenish demand with the elements we just wrote
+      demand += written;
+    }
+    drain();
+  }
+
+  private void write(byte[] chunk, int length, int elements) {
+    sender.write(chunk, 0, length, (context, x) -> onWrite(elements, x));
+  }
+
+  /**
+   * Write pending batches, request more elements and close the response once completed. Only one
+   * thread runs the loop, a call made while the loop is running returns immediately: the loop
+   * re-checks the state after each step and exits only when there is nothing left to do.
+   */
+  private void drain() {
+    synchronized (this) {
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    while (true) {
+      byte[] chunk = null;
+      int chunkLength = 0;
+      int chunkElements = 0;
+      long n = 0;
+      synchronized (this) {
+        if (errored || closed) {
+          draining = false;
+          return;
         }
-      });
+        if (!writing && length > 0) {
+          chunkLength = length;
+          chunkElements = elements;
+          chunk = take();
+        } else if (!writing && completed) {
+          closed = true;
+          draining = false;
+        } else if (demand > 0 && !completed) {
+          n = demand;
+          demand = 0;
+        } else {
+          draining = false;
+          return;
+        }
+      }
+      if (chunk != null) {
+        write(chunk, chunkLength, chunkElements);
+      } else if (n > 0) {
+        try {
+          subscription.request(n);
+        } catch (RuntimeException | Error x) {
+          synchronized (this) {
+            draining = false;
+          }
+          throw x;
+        }
+      } else {
+        sender.close();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Take the batch buffer and mark it as being written. Caller must hold the lock and read the
+   * batch length before calling this method.
+   *
+   * @return Batch buffer or <code>null</code> when empty.
+   */
+  private byte[] take() {
+    if (length == 0) {
+      return null;
     }
-    sender.close();
+    byte[] chunk = batch;
+    batch = null;
+    length = 0;
+    elements = 0;
+    writing = true;
+    return chunk;
   }
 
-  private static byte[] prepend(byte[] data, byte c) {
-    byte[] tmp = new byte[data.length + 1];
-    System.arraycopy(data, 0, tmp, 1, data.length);
-    tmp[0] = c;
-    return tmp;
+  private void append(byte b) {
+    ensureCapacity(1);
+    batch[length++] = b;
+  }
+
+  private void append(byte[] data) {
+    ensureCapacity(data.length);
+    System.arraycopy(data, 0, batch, length, data.length);
+    length += data.length;
+  }
+
+  private void ensureCapacity(int n) {
+    if (batch == null) {
+      batch = new byte[Math.max(n, Math.min(batchSize, 1024))];
+    } else if (length + n > batch.length) {
+      batch = Arrays.copyOf(batch, Math.max(length + n, batch.length * 2));
+    }
   }
 }
@@ -0,0 +1,63 @@
+package io.jooby;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AccessLogHandlerTest {
+
+  @Test
+  public void shouldReadConfigurationOnFirstUse() throws Exception {
+    Jooby app = mock(Jooby.class);
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    AccessLogHandler accessLog = new AccessLogHandler();
+    Route.Handler handler = accessLog.apply(ctx -> "OK");
+
+    // configured after apply
+    accessLog.log(lines::add).async();
+
+    Context ctx = context(app);
+    handler.apply(ctx);
+    complete(ctx);
+
+    assertThrows(IllegalStateException.class, () -> accessLog.log(System.out::println));
+    assertThrows(IllegalStateException.class, () -> accessLog.async());
+
+    // stop hook registered
+    verify(app).onStop(accessLog);
+    accessLog.close();
+
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).startsWith("127.0.0.1 - - ["), lines.get(0));
+    assertTrue(lines.get(0).contains("\"GET /path HTTP/1.1\" 200 2"), lines.get(0));
+  }
+
+  private Context context(Router router) {
+    Context ctx = mock(Context.class);
+    when(ctx.getRouter()).thenReturn(router);
+    when(ctx.getRemoteAddress()).thenReturn("127.0.0.1");
+    when(ctx.getMethod()).thenReturn("GET");
+    when(ctx.getRequestPath()).thenReturn("/path");
+    when(ctx.queryString()).thenReturn("");
+    when(ctx.getProtocol()).thenReturn("HTTP/1.1");
+    when(ctx.getResponseCode()).thenReturn(StatusCode.OK);
+    when(ctx.getResponseLength()).thenReturn(2L);
+    return ctx;
+  }
+
+  private void complete(Context ctx) throws Exception {
+    ArgumentCaptor<Route.Complete> complete = ArgumentCaptor.forClass(Route.Complete.class);
+    verify(ctx).onComplete(complete.capture());
+    complete.getValue().apply(ctx);
+  }
+}
@@ -0,0 +1,78 @@
+package io.jooby;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Fork(5)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CookieSignerBenchmark {
+
+  private static final String SECRET = "987654345!$009P";
+
+  private String value;
+
+  private String signed;
+
+  private CookieSigner signer;
+
+  private CookieSigner rotation;
+
+  @Setup
+  public void setup() {
+    Map<String, String> attributes = new LinkedHashMap<>();
+    attributes.put("user", "edgar");
+    attributes.put("role", "admin");
+    attributes.put("csrf", "c6f6a7d2-7c5e-4bd6-a3c6-3b0c9b0b6c0e");
+    value = Cookie.encode(attributes);
+    signer = new CookieSigner(SECRET);
+    rotation = new CookieSigner("new-secret", SECRET);
+    signed = signer.sign(value);
+  }
+
+  @Benchmark
+  public String uncachedSign() throws Exception {
+    Mac mac = Mac.getInstance(Cookie.HMAC_SHA256);
+    mac.init(new SecretKeySpec(SECRET.getBytes(), Cookie.HMAC_SHA256));
+    byte[] bytes = mac.doFinal(value.getBytes());
+    return Base64.getEncoder().withoutPadding().encodeToString(bytes) + "|" + value;
+  }
+
+  @Benchmark
+  public String sign() {
+    return signer.sign(value);
+  }
+
+  @Benchmark
+  public String unsign() {
+    return signer.unsign(signed);
+  }
+
+  @Benchmark
+  public String unsignPreviousSecret() {
+    return rotation.unsign(signed);
+  }
+
+  @Benchmark
+  public String cookieSign() {
+    return Cookie.sign(value, SECRET);
+  }
+}
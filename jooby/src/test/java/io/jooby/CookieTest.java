@@ -5,6 +5,7 @@ import com.typesafe.config.ConfigFactory;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -42,6 +43,25 @@ public class CookieTest {
         .unsign("RcFzlzECN2Lv32Ie9jfSWVr13j6OjllJwDDZe4mVS4c|foo=bar&x=u iq", "987654345!$009P"));
   }
 
+  @Test
+  public void signerRotation() {
+    CookieSigner old = new CookieSigner("987654345!$009P");
+    CookieSigner signer = new CookieSigner("new-secret", "987654345!$009P");
+
+    String signed = old.sign("foo=bar");
+    assertEquals(Cookie.sign("foo=bar", "987654345!$009P"), signed);
+    // verify with previous secret
+    assertEquals("foo=bar", signer.unsign(signed));
+    // sign with current secret
+    assertEquals(Cookie.sign("foo=bar", "new-secret"), signer.sign("foo=bar"));
+    assertNull(old.unsign(signer.sign("foo=bar")));
+
+    assertNull(signer.unsign("foo=bar"));
+    assertNull(signer.unsign("|foo=bar"));
+    assertNull(signer.unsign(signed.substring(1)));
+    assertNull(signer.unsign(signed + "x"));
+  }
+
   @Test
   public void testCreateSameSite() {
     assertEquals(SameSite.LAX, Cookie.create("mycookie",
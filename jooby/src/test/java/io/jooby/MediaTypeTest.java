@@ -8,6 +8,8 @@ import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MediaTypeTest {
@@ -75,6 +77,26 @@ public class MediaTypeTest {
     assertEquals("*", any.getSubtype());
   }
 
+  @Test
+  public void cache() {
+    MediaType type = MediaType.valueOf("application/vnd.api+json; charset=UTF-8");
+    assertSame(type, MediaType.valueOf("application/vnd.api+json; charset=UTF-8"));
+
+    String accept = "text/html, application/xhtml+xml, */*;q=0.8";
+    List<MediaType> types = MediaType.cachedParse(accept);
+    assertSame(types, MediaType.cachedParse(accept));
+    assertThrows(UnsupportedOperationException.class, () -> types.add(MediaType.json));
+
+    List<MediaType> copy = MediaType.parse(accept);
+    assertEquals(types, copy);
+    Collections.sort(copy);
+    assertEquals("text/html", MediaType.cachedParse(accept).get(0).getValue());
+
+    assertTrue(MediaType.matches("application/json", " text/html , application/json "));
+    assertTrue(MediaType.matches("application/json", "text/html,  * "));
+    assertFalse(MediaType.matches("application/json", "text/html, application/jsonx"));
+  }
+
   @Test
   public void parse() {
     List<MediaType> result = MediaType.parse("application/json , text/html,*");
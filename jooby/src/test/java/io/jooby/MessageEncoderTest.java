@@ -0,0 +1,65 @@
+package io.jooby;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MessageEncoderTest {
+
+  @Test
+  public void shouldSendEncodedBytes() throws Exception {
+    byte[] bytes = "some".getBytes(StandardCharsets.UTF_8);
+    Context ctx = mock(Context.class);
+
+    MessageEncoder encoder = (context, value) -> bytes;
+
+    assertTrue(encoder.send(ctx, "some"));
+    verify(ctx).send(bytes);
+  }
+
+  @Test
+  public void shouldNotSendUnsupportedValue() throws Exception {
+    Context ctx = mock(Context.class);
+
+    MessageEncoder encoder = (context, value) -> null;
+
+    assertFalse(encoder.send(ctx, "some"));
+  }
+
+  @Test
+  public void shouldSendWhenAcceptMatches() throws Exception {
+    Context ctx = mock(Context.class);
+    when(ctx.accept(MediaType.json)).thenReturn(true);
+
+    MessageEncoder encoder = new MessageEncoder() {
+      @Override public byte[] encode(Context ctx, Object value) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override public boolean send(Context ctx, Object value) {
+        return true;
+      }
+    };
+
+    assertTrue(encoder.accept(MediaType.json).send(ctx, "some"));
+  }
+
+  @Test
+  public void shouldNotSendWhenAcceptDoesNotMatch() throws Exception {
+    byte[] bytes = "some".getBytes(StandardCharsets.UTF_8);
+    Context ctx = mock(Context.class);
+    when(ctx.accept(MediaType.json)).thenReturn(false);
+
+    MessageEncoder encoder = (context, value) -> bytes;
+
+    assertFalse(encoder.accept(MediaType.json).send(ctx, "some"));
+    verify(ctx, never()).send(bytes);
+  }
+}
@@ -18,6 +18,7 @@ import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ValueTest {
 
@@ -291,6 +292,31 @@ public class ValueTest {
     });
   }
 
+  @Test
+  public void lazyQueryString() {
+    String source = "utm_source=x&q=foo&user.name=root&q=bar&a%5Bb%5D=1&user.pwd=pass";
+    queryString(source, queryString -> {
+      assertEquals(Arrays.asList("foo", "bar"), queryString.get("q").toList());
+      assertEquals("root", queryString.get("user").get("name").value());
+      assertEquals("pass", queryString.get("user").get("pwd").value());
+      assertEquals("1", queryString.get("a").get("b").value());
+      assertTrue(queryString.get("missing").isMissing());
+      assertEquals(
+          "{utm_source=[x], q=[foo, bar], user.name=[root], user.pwd=[pass], a.b=[1]}",
+          queryString.toMultimap().toString());
+      assertEquals("root", queryString.get("user").get("name").value());
+      assertEquals(4, queryString.size());
+    });
+  }
+
+  @Test
+  public void queryStringWithLeadingQuestionMark() {
+    queryString("?q=foo&x=1", queryString -> {
+      assertEquals("foo", queryString.get("q").value());
+      assertEquals("{q=[foo], x=[1]}", queryString.toMultimap().toString());
+    });
+  }
+
   @Test
   public void customMapper() {
     assertEquals(new BigDecimal("3.14"), Value.value(null, "n", "3.14").value(BigDecimal::new));
@@ -0,0 +1,59 @@
+package io.jooby.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncLogWriterTest {
+
+  @Test
+  public void shouldWriteRecordsInOrder() {
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    AsyncLogWriter writer = new AsyncLogWriter(lines::add, 16, true);
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      expected.add("line " + i);
+      writer.accept("line " + i);
+    }
+    writer.close();
+    assertEquals(expected, lines);
+    assertEquals(0, writer.getDropped());
+  }
+
+  @Test
+  public void shouldDropRecordsWhenFull() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    AsyncLogWriter writer = new AsyncLogWriter(line -> {
+      try {
+        latch.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+      lines.add(line);
+    }, 4, false);
+    for (int i = 0; i < 100; i++) {
+      writer.accept("line " + i);
+    }
+    latch.countDown();
+    writer.close();
+    assertTrue(writer.getDropped() > 0);
+    assertEquals(100, lines.size() + writer.getDropped());
+  }
+
+  @Test
+  public void shouldLogSynchronouslyAfterClose() {
+    List<String> lines = new ArrayList<>();
+    AsyncLogWriter writer = new AsyncLogWriter(lines::add, 4, false);
+    writer.close();
+    writer.accept("late");
+    assertEquals(Collections.singletonList("late"), lines);
+  }
+}
@@ -0,0 +1,256 @@
+package io.jooby.internal;
+
+import io.jooby.Context;
+import io.jooby.ForwardingContext;
+import io.jooby.ValueNode;
+import io.jooby.internal.converter.ReflectiveBeanConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@Fork(5)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BeanBinderBenchmark {
+
+  public static class FormBean {
+    private String name;
+
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private String street;
+
+    private String city;
+
+    private String country;
+
+    private String zip;
+
+    private String company;
+
+    private String title;
+
+    private int age;
+
+    private int year;
+
+    private int month;
+
+    private int day;
+
+    private long score;
+
+    private long visits;
+
+    private double rating;
+
+    private double balance;
+
+    private boolean active;
+
+    private boolean admin;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getLastName() {
+      return lastName;
+    }
+
+    public void setLastName(String lastName) {
+      this.lastName = lastName;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public void setEmail(String email) {
+      this.email = email;
+    }
+
+    public String getPhone() {
+      return phone;
+    }
+
+    public void setPhone(String phone) {
+      this.phone = phone;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public void setCity(String city) {
+      this.city = city;
+    }
+
+    public String getCountry() {
+      return country;
+    }
+
+    public void setCountry(String country) {
+      this.country = country;
+    }
+
+    public String getZip() {
+      return zip;
+    }
+
+    public void setZip(String zip) {
+      this.zip = zip;
+    }
+
+    public String getCompany() {
+      return company;
+    }
+
+    public void setCompany(String company) {
+      this.company = company;
+    }
+
+    public String getTitle() {
+      return title;
+    }
+
+    public void setTitle(String title) {
+      this.title = title;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public int getYear() {
+      return year;
+    }
+
+    public void setYear(int year) {
+      this.year = year;
+    }
+
+    public int getMonth() {
+      return month;
+    }
+
+    public void setMonth(int month) {
+      this.month = month;
+    }
+
+    public int getDay() {
+      return day;
+    }
+
+    public void setDay(int day) {
+      this.day = day;
+    }
+
+    public long getScore() {
+      return score;
+    }
+
+    public void setScore(long score) {
+      this.score = score;
+    }
+
+    public long getVisits() {
+      return visits;
+    }
+
+    public void setVisits(long visits) {
+      this.visits = visits;
+    }
+
+    public double getRating() {
+      return rating;
+    }
+
+    public void setRating(double rating) {
+      this.rating = rating;
+    }
+
+    public double getBalance() {
+      return balance;
+    }
+
+    public void setBalance(double balance) {
+      this.balance = balance;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public boolean isAdmin() {
+      return admin;
+    }
+
+    public void setAdmin(boolean admin) {
+      this.admin = admin;
+    }
+  }
+
+  private ValueNode form;
+
+  private ReflectiveBeanConverter converter;
+
+  @Setup
+  public void setup() {
+    Context ctx = new ForwardingContext(mock(Context.class)) {
+      @Override public <T> T convert(ValueNode value, Class<T> type) {
+        return ValueConverters.convert(value, type, null);
+      }
+    };
+    form = UrlParser.queryString(ctx, "name=edgar&lastName=espina&email=edgar@jooby.io&phone=555-0100&street=main&city=montevideo&country=uy&zip=11000&company=jooby&title=dev&age=40&year=1980&month=6&day=15&score=123456789&visits=42&rating=4.5&balance=100.25&active=true&admin=false");
+    converter = new ReflectiveBeanConverter();
+  }
+
+  @Benchmark
+  public Object uncachedBind() {
+    return ReflectiveBeanConverter.binder(FormBean.class).newInstance(form);
+  }
+
+  @Benchmark
+  public Object bind() {
+    return converter.convert(form, FormBean.class);
+  }
+}
@@ -12,6 +12,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Fork(5)
@@ -31,6 +32,9 @@ public class ChiBenchmark {
     router.insert(route("GET", "/plaintext"));
     router.insert(route("GET", "/articles/{id}"));
     router.insert(route("GET", "/articles/{id}/edit"));
+    router.insert(route("GET", "/users/{user}/articles/{id:[0-9]+}"));
+    router.insert(route("GET", "/users/{user}/articles/{id:[0-9]+}/comments/{comment}"));
+    router.insert(route("GET", "/static/*"));
   }
 
   private Route route(String method, String pattern) {
@@ -52,4 +56,29 @@ public class ChiBenchmark {
     router.find("GET", "/articles/123/edit");
   }
 
+  @Benchmark
+  public Map<String, String> articlesEditPathMap() {
+    return router.find("GET", "/articles/123/edit").pathMap();
+  }
+
+  @Benchmark
+  public Map<String, String> userArticle() {
+    return router.find("GET", "/users/edgar/articles/123").pathMap();
+  }
+
+  @Benchmark
+  public Map<String, String> userArticleComment() {
+    return router.find("GET", "/users/edgar/articles/123/comments/456").pathMap();
+  }
+
+  @Benchmark
+  public Map<String, String> staticCatchAll() {
+    return router.find("GET", "/static/js/app.js").pathMap();
+  }
+
+  @Benchmark
+  public void notFound() {
+    router.find("GET", "/users/edgar/articles/abc");
+  }
+
 }
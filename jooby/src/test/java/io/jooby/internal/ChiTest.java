@@ -7,6 +7,12 @@ import io.jooby.Router;
 import io.jooby.SneakyThrows;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -171,6 +177,46 @@ public class ChiTest {
     });
   }
 
+  @Test
+  public void pathVariables() {
+    Chi router = new Chi();
+
+    router.insert(route("GET", "/articles/{id}/edit", stringHandler("edit")));
+    router.insert(route("GET", "/users/{user}/articles/{id:[0-9]+}", stringHandler("regex")));
+    router.insert(route("GET", "/users/{user}/{slug}", stringHandler("slug")));
+    router.insert(route("GET", "/static/*", stringHandler("static")));
+
+    Router.Match edit = router.find("GET", "/articles/123/edit");
+    assertTrue(edit.matches());
+    assertEquals(mapOf("id", "123"), edit.pathMap());
+
+    Router.Match regex = router.find("GET", "/users/edgar/articles/123");
+    assertTrue(regex.matches());
+    assertEquals(mapOf("user", "edgar", "id", "123"), regex.pathMap());
+    assertEquals("edgar", regex.pathMap().get("user"));
+    assertEquals(Arrays.asList("user", "id"), new ArrayList<>(regex.pathMap().keySet()));
+
+    Router.Match slug = router.find("GET", "/users/edgar/articles");
+    assertTrue(slug.matches());
+    assertEquals(mapOf("user", "edgar", "slug", "articles"), slug.pathMap());
+
+    Router.Match catchAll = router.find("GET", "/static/js/app.js");
+    assertTrue(catchAll.matches());
+    assertEquals(mapOf("*", "js/app.js"), catchAll.pathMap());
+
+    Router.Match missing = router.find("GET", "/articles/123/delete");
+    assertFalse(missing.matches());
+    assertEquals(Collections.emptyMap(), missing.pathMap());
+  }
+
+  private Map<String, String> mapOf(String... values) {
+    Map<String, String> map = new LinkedHashMap<>();
+    for (int i = 0; i < values.length; i += 2) {
+      map.put(values[i], values[i + 1]);
+    }
+    return map;
+  }
+
   private void find(Chi router, String pattern,
       SneakyThrows.Consumer2<Context, Router.Match> consumer) {
     Router.Match result = router
@@ -184,6 +230,7 @@ public class ChiTest {
 
   private Route route(String method, String pattern, Route.Handler handler) {
     return new Route(method, pattern, handler)
+        .setPathKeys(Router.pathKeys(pattern))
         .setEncoder(MessageEncoder.TO_STRING);
   }
 
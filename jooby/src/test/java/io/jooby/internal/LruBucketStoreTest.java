@@ -0,0 +1,49 @@
+package io.jooby.internal;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LruBucketStoreTest {
+
+  @Test
+  public void shouldReuseBucket() {
+    LruBucketStore store = new LruBucketStore(100, Duration.ofMinutes(1));
+    Bucket bucket = store.get("a", key -> newBucket());
+    assertSame(bucket, store.get("a", key -> newBucket()));
+    assertEquals(1, store.size());
+    assertEquals(0, store.evictions());
+  }
+
+  @Test
+  public void shouldEvictWhenFull() {
+    LruBucketStore store = new LruBucketStore(16, Duration.ofMinutes(1));
+    for (int i = 0; i < 1000; i++) {
+      store.get("key" + i, key -> newBucket());
+    }
+    assertTrue(store.size() <= 16, "size: " + store.size());
+    assertEquals(1000 - store.size(), store.evictions());
+  }
+
+  @Test
+  public void shouldEvictIdleBuckets() throws InterruptedException {
+    LruBucketStore store = new LruBucketStore(100, Duration.ofMillis(10));
+    Bucket bucket = store.get("a", key -> newBucket());
+    Thread.sleep(20);
+    assertNotSame(bucket, store.get("a", key -> newBucket()));
+    assertEquals(1, store.evictions());
+    assertEquals(1, store.size());
+  }
+
+  private Bucket newBucket() {
+    return Bucket4j.builder().addLimit(Bandwidth.simple(10, Duration.ofMinutes(1))).build();
+  }
+}
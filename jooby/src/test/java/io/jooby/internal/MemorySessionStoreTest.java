@@ -0,0 +1,158 @@
+package io.jooby.internal;
+
+import io.jooby.Context;
+import io.jooby.Router;
+import io.jooby.Session;
+import io.jooby.SessionToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MemorySessionStoreTest {
+
+  private static class TestClock extends Clock {
+    private Instant now = Instant.now();
+
+    public void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override public Instant instant() {
+      return now;
+    }
+  }
+
+  @Test
+  public void shouldFindAndDeleteSession() {
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("s1");
+    Context ctx = mock(Context.class);
+
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMinutes(30));
+    Session session = store.newSession(ctx);
+    assertEquals("s1", session.getId());
+    assertEquals(1, store.getSessionCount());
+
+    when(token.findToken(ctx)).thenReturn("s1");
+    assertNotNull(store.findSession(ctx));
+
+    store.deleteSession(ctx, session);
+    assertNull(store.findSession(ctx));
+    assertEquals(0, store.getSessionCount());
+    assertEquals(0, store.getEvictionCount());
+  }
+
+  @Test
+  public void shouldExpireSessions() {
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("s1", "s2");
+    Context ctx = mock(Context.class);
+
+    TestClock clock = new TestClock();
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMillis(200))
+        .setClock(clock);
+    store.newSession(ctx);
+    store.newSession(ctx);
+    assertEquals(2, store.getSessionCount());
+
+    clock.advance(Duration.ofMillis(1500));
+
+    // Lookup of a missing session sweeps expired slots
+    when(token.findToken(ctx)).thenReturn("missing");
+    assertNull(store.findSession(ctx));
+    assertEquals(0, store.getSessionCount());
+    assertEquals(2, store.getEvictionCount());
+  }
+
+  @Test
+  public void shouldKeepAccessedSessions() {
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("s1");
+    Context ctx = mock(Context.class);
+
+    TestClock clock = new TestClock();
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofSeconds(2))
+        .setClock(clock);
+    Session session = store.newSession(ctx);
+
+    clock.advance(Duration.ofMillis(1200));
+    store.saveSession(ctx, session);
+    clock.advance(Duration.ofMillis(1200));
+
+    when(token.findToken(ctx)).thenReturn("s1");
+    assertNotNull(store.findSession(ctx));
+    assertEquals(0, store.getEvictionCount());
+  }
+
+  @Test
+  public void shouldNotExpireWithoutTimeout() {
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("s1");
+    Context ctx = mock(Context.class);
+
+    MemorySessionStore store = new MemorySessionStore(token, null);
+    store.newSession(ctx);
+
+    when(token.findToken(ctx)).thenReturn("s1");
+    assertNotNull(store.findSession(ctx));
+    assertEquals(1, store.getSessionCount());
+  }
+
+  @Test
+  public void shouldTrackModifiedAttributes() {
+    SessionToken token = mock(SessionToken.class);
+    when(token.newToken()).thenReturn("s1");
+    MemorySessionStore store = new MemorySessionStore(token, Duration.ofMinutes(30));
+    Router router = mock(Router.class);
+    when(router.getSessionStore()).thenReturn(store);
+    Context ctx = mock(Context.class);
+    when(ctx.getRouter()).thenReturn(router);
+
+    Session session = store.newSession(ctx);
+    assertFalse(session.isModify());
+    assertEquals(Collections.emptySet(), session.getModifiedAttributes());
+
+    session.put("foo", "bar").put("x", "y");
+    assertTrue(session.isModify());
+    assertEquals(new HashSet<>(Arrays.asList("foo", "x")), session.getModifiedAttributes());
+
+    store.saveSession(ctx, session);
+    assertFalse(session.isModify());
+    assertEquals(Collections.emptySet(), session.getModifiedAttributes());
+
+    // same value, nothing changed
+    session.put("foo", "bar");
+    assertFalse(session.isModify());
+
+    session.remove("x");
+    session.remove("missing");
+    assertEquals(Collections.singleton("x"), session.getModifiedAttributes());
+
+    // attributes are shared with the store
+    when(token.findToken(ctx)).thenReturn("s1");
+    assertEquals(Collections.singletonMap("foo", "bar"), store.findSession(ctx).toMap());
+  }
+}
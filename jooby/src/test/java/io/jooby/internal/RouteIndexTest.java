@@ -0,0 +1,105 @@
+package io.jooby.internal;
+
+import io.jooby.Context;
+import io.jooby.Jooby;
+import io.jooby.Reified;
+import io.jooby.Route;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nonnull;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteIndexTest {
+
+  @Test
+  public void writeAndLoad(@TempDir Path dir) throws Exception {
+    Jooby app = new Jooby();
+    app.get("/string", ctx -> "OK");
+    app.get("/list/{id}", ctx -> Arrays.asList("a", "b"))
+        .setReturnType(Reified.list(String.class).getType());
+    app.post("/future", ctx -> CompletableFuture.completedFuture(1));
+    app.get("/bytes", ctx -> new byte[0]);
+
+    Path output = RouteIndex.write(getClass().getClassLoader(), app, dir.resolve(RouteIndex.PATH));
+    assertEquals(4, Files.readAllLines(output).size());
+
+    Jooby other = new Jooby();
+    Route otherRoute = other.get("/string", ctx -> 1);
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()},
+        getClass().getClassLoader())) {
+      RouteIndex index = RouteIndex.load(loader);
+      List<Route> routes = app.getRoutes();
+      assertEquals(String.class, index.returnType(routes.get(0)));
+      assertEquals(Reified.list(String.class).getType(), index.returnType(routes.get(1)));
+      assertEquals(CompletableFuture.class, index.returnType(routes.get(2)));
+      assertEquals(byte[].class, index.returnType(routes.get(3)));
+      assertNull(index.returnType(route("GET", "/missing")));
+      // same method and pattern, different handler
+      assertNull(index.returnType(otherRoute));
+    }
+  }
+
+  @Test
+  public void generateWithoutInstallingExtensions(@TempDir Path dir) throws Exception {
+    Path output = RouteIndex.generate(getClass().getClassLoader(), IndexApp.class.getName(), dir);
+    List<String> lines = Files.readAllLines(output);
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).startsWith("GET\t/\t"));
+    assertNull(System.getProperty("___jooby_route_index__"));
+  }
+
+  @Test
+  public void handler() {
+    Route.Handler lambda = ctx -> "OK";
+    assertTrue(RouteIndex.handler(lambda).startsWith("io/jooby/internal/RouteIndexTest.lambda$"));
+    assertEquals(StringHandler.class.getName(), RouteIndex.handler(new StringHandler()));
+  }
+
+  @Test
+  public void signature() {
+    assertEquals("Ljava/lang/String;", RouteIndex.signature(String.class));
+    assertEquals("[B", RouteIndex.signature(byte[].class));
+    assertEquals("Ljava/util/List<Ljava/lang/String;>;",
+        RouteIndex.signature(Reified.list(String.class).getType()));
+    assertEquals("Ljava/util/Map<Ljava/lang/String;Ljava/util/List<Ljava/lang/Integer;>;>;",
+        RouteIndex.signature(
+            Reified.map(String.class, Reified.list(Integer.class).getType()).getType()));
+  }
+
+  @Test
+  public void noIndex() {
+    assertNull(RouteIndex.load(getClass().getClassLoader()));
+  }
+
+  public static class StringHandler implements Route.Handler {
+    @Nonnull @Override public Object apply(@Nonnull Context ctx) {
+      return "OK";
+    }
+  }
+
+  public static class IndexApp extends Jooby {
+    {
+      install(app -> {
+        throw new IllegalStateException("Extensions must not run at build time");
+      });
+
+      get("/", ctx -> "OK");
+    }
+  }
+
+  private Route route(String method, String pattern) {
+    return new Route(method, pattern, ctx -> ctx);
+  }
+}
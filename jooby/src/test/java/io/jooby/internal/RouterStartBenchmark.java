@@ -0,0 +1,59 @@
+package io.jooby.internal;
+
+import io.jooby.Jooby;
+import io.reactivex.Single;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of {@link RouterImpl#start(Jooby)} with 5k routes. Return types are set upfront
+ * (like generated MVC routes do), so the benchmark measures pipeline computation and not
+ * bytecode analysis.
+ */
+@Fork(5)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RouterStartBenchmark {
+
+  private static final int ROUTES = 5000;
+
+  private static final Type[] RETURN_TYPES = {String.class, Object.class, Map.class, List.class,
+      byte[].class, CompletableFuture.class, Single.class};
+
+  private Jooby app;
+
+  private RouterImpl router;
+
+  @Setup(Level.Invocation)
+  public void setup() {
+    app = new Jooby();
+    router = new RouterImpl(getClass().getClassLoader());
+    for (int i = 0; i < ROUTES; i++) {
+      router.get("/api/v1/resource" + i + "/{id}", ctx -> ctx.path("id").value())
+          .setReturnType(RETURN_TYPES[i % RETURN_TYPES.length]);
+    }
+  }
+
+  @Benchmark
+  public RouterImpl start() {
+    return (RouterImpl) router.start(app);
+  }
+}
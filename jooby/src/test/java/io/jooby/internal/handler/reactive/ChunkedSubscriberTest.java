@@ -0,0 +1,113 @@
+package io.jooby.internal.handler.reactive;
+
+import io.jooby.Context;
+import io.jooby.MediaType;
+import io.jooby.Route;
+import io.jooby.Router;
+import io.jooby.Sender;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkedSubscriberTest {
+
+  /** Sender that completes writes synchronously, like the Jetty sender. */
+  private static class SyncSender implements Sender {
+    private final Context ctx;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private int maxDepth;
+
+    private int closed;
+
+    SyncSender(Context ctx) {
+      this.ctx = ctx;
+    }
+
+    @Nonnull @Override public Sender write(@Nonnull byte[] data, @Nonnull Callback callback) {
+      maxDepth = Math.max(maxDepth, Thread.currentThread().getStackTrace().length);
+      output.write(data, 0, data.length);
+      callback.onComplete(ctx, null);
+      return this;
+    }
+
+    @Override public void close() {
+      closed += 1;
+    }
+  }
+
+  /** Range publisher that emits from request, with the usual reentrancy guard. */
+  private static class RangeSubscription implements ChunkedSubscription {
+    private final ChunkedSubscriber subscriber;
+
+    private final int end;
+
+    private int next;
+
+    private long requested;
+
+    private boolean emitting;
+
+    private boolean cancelled;
+
+    RangeSubscription(ChunkedSubscriber subscriber, int end) {
+      this.subscriber = subscriber;
+      this.end = end;
+    }
+
+    @Override public void request(long n) {
+      requested += n;
+      if (emitting) {
+        return;
+      }
+      emitting = true;
+      while (requested > 0 && next < end && !cancelled) {
+        requested -= 1;
+        subscriber.onNext(next++);
+      }
+      if (next == end && !cancelled) {
+        cancelled = true;
+        subscriber.onComplete();
+      }
+      emitting = false;
+    }
+
+    @Override public void cancel() {
+      cancelled = true;
+    }
+  }
+
+  @Test
+  public void synchronousSenderAndPublisherDontGrowTheStack() {
+    int size = 100_000;
+    Context ctx = mock(Context.class);
+    SyncSender sender = new SyncSender(ctx);
+    Route route = mock(Route.class);
+    when(route.getEncoder())
+        .thenReturn((context, value) -> value.toString().getBytes(StandardCharsets.UTF_8));
+    when(ctx.responseSender()).thenReturn(sender);
+    when(ctx.getRouter()).thenReturn(mock(Router.class));
+    when(ctx.getRoute()).thenReturn(route);
+    when(ctx.getResponseType()).thenReturn(MediaType.json);
+
+    ChunkedSubscriber subscriber = new ChunkedSubscriber(ctx);
+    int depth = Thread.currentThread().getStackTrace().length;
+    subscriber.onSubscribe(new RangeSubscription(subscriber, size));
+
+    assertEquals(IntStream.range(0, size).mapToObj(Integer::toString)
+            .collect(Collectors.joining(",", "[", "]")),
+        new String(sender.output.toByteArray(), StandardCharsets.UTF_8));
+    assertEquals(1, sender.closed);
+    assertTrue(sender.maxDepth - depth < 32, "stack depth: " + (sender.maxDepth - depth));
+  }
+}
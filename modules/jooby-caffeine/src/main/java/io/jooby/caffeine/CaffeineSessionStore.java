@@ -34,7 +34,9 @@ public class CaffeineSessionStore extends SessionStore.InMemory {
   private final Cache<String, Object> cache;
 
   /**
-   * Creates a new session store using the given cache.
+   * Creates a new session store using the given cache. Session changes aren't written back to
+   * the cache (attributes are shared with the cached entry), so the cache should expire entries
+   * after access (not after write). Eviction count is reported when the cache records stats.
    *
    * @param cache Cache.
    */
@@ -52,6 +54,7 @@ public class CaffeineSessionStore extends SessionStore.InMemory {
     super(SessionToken.cookieId(SessionToken.SID));
     this.cache = Caffeine.newBuilder()
         .expireAfterAccess(timeout)
+        .recordStats()
         .build();
   }
 
@@ -80,4 +83,18 @@ public class CaffeineSessionStore extends SessionStore.InMemory {
   @Override protected void put(String sessionId, Data data) {
     cache.put(sessionId, data);
   }
+
+  @Override public long getSessionCount() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Number of sessions evicted by the cache. Requires a cache that records stats (see
+   * {@link Caffeine#recordStats()}), caches created by this store do.
+   *
+   * @return Number of sessions evicted or <code>-1</code> when the cache doesn't record stats.
+   */
+  @Override public long getEvictionCount() {
+    return cache.policy().isRecordingStats() ? cache.stats().evictionCount() : -1;
+  }
 }
@@ -14,6 +14,7 @@ import io.jooby.TemplateEngine;
 
 import javax.annotation.Nonnull;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -35,8 +36,14 @@ class FreemarkerTemplateEngine implements TemplateEngine {
   }
 
   @Override public String render(Context ctx, ModelAndView modelAndView) throws Exception {
-    Template template = freemarker.getTemplate(modelAndView.getView());
     StringWriter writer = new StringWriter();
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override public void render(@Nonnull Context ctx, @Nonnull ModelAndView modelAndView,
+      @Nonnull Writer writer) throws Exception {
+    Template template = freemarker.getTemplate(modelAndView.getView());
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
     Locale locale = modelAndView.getLocale();
@@ -46,6 +53,5 @@ class FreemarkerTemplateEngine implements TemplateEngine {
     Environment env = template.createProcessingEnvironment(model, writer);
     env.setLocale(locale);
     env.process();
-    return writer.toString();
   }
 }
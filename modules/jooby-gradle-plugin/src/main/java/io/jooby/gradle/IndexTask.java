@@ -0,0 +1,72 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.gradle;
+
+import io.jooby.internal.RouteIndex;
+import org.gradle.api.Project;
+import org.gradle.api.tasks.TaskAction;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generate a route index with the return type of each route. At startup the application reads
+ * the index and skips bytecode analysis of route handlers.
+ *
+ * The application class is created (not started) in order to collect routes, so it must have a
+ * default constructor. Extensions are not installed while creating it.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+public class IndexTask extends BaseTask {
+
+  private String mainClassName;
+
+  /**
+   * Generate route index from Jooby application.
+   *
+   * @throws Throwable If something goes wrong.
+   */
+  @TaskAction
+  public void generate() throws Throwable {
+    List<Project> projects = getProjects();
+
+    String mainClass = Optional.ofNullable(mainClassName)
+        .orElseGet(() -> computeMainClassName(projects));
+
+    Path outputDir = classes(getProject());
+
+    ClassLoader classLoader = createClassLoader(projects);
+
+    getLogger().info(" Generating route index: " + mainClass);
+    getLogger().debug("Using classloader: " + classLoader);
+    getLogger().debug("Output directory: " + outputDir);
+
+    Path output = RouteIndex.generate(classLoader, mainClass, outputDir);
+    getLogger().info("  writing: " + output);
+  }
+
+  /**
+   * Application class.
+   *
+   * @return Application class.
+   */
+  public @Nonnull String getMainClassName() {
+    return mainClassName;
+  }
+
+  /**
+   * Set application class.
+   *
+   * @param mainClassName Application class.
+   */
+  public void setMainClassName(@Nonnull String mainClassName) {
+    this.mainClassName = mainClassName;
+  }
+}
@@ -23,9 +23,21 @@ public class JoobyPlugin implements Plugin<Project> {
   @Override public void apply(Project project) {
     openAPI(project);
 
+    joobyIndex(project);
+
     joobyRun(project);
   }
 
+  private void joobyIndex(Project project) {
+    Map<String, Object> options = new HashMap<>();
+    options.put(Task.TASK_TYPE, IndexTask.class);
+    options.put(Task.TASK_DEPENDS_ON, "classes");
+    options.put(Task.TASK_NAME, "joobyIndex");
+    options.put(Task.TASK_DESCRIPTION, "Route index with precomputed return types");
+    options.put(Task.TASK_GROUP, "jooby");
+    project.getTasks().create(options);
+  }
+
   private void joobyRun(Project project) {
     Map<String, Object> options = new HashMap<>();
     options.put(Task.TASK_TYPE, RunTask.class);
@@ -7,6 +7,7 @@ package io.jooby.json;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import io.jooby.Abortable;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Extension;
@@ -20,6 +21,9 @@ import javax.annotation.Nonnull;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -111,4 +115,19 @@ public class GsonModule implements Extension, MessageDecoder, MessageEncoder {
     ctx.setDefaultResponseType(MediaType.json);
     return gson.toJson(value).getBytes(UTF_8);
   }
+
+  @Override public boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    ctx.setDefaultResponseType(MediaType.json);
+    OutputStream output = ctx.responseStream();
+    Writer writer = new OutputStreamWriter(output, UTF_8);
+    try {
+      gson.toJson(value, writer);
+      writer.flush();
+    } catch (Throwable x) {
+      Abortable.abort(output, x);
+      throw x;
+    }
+    writer.close();
+    return true;
+  }
 }
@@ -5,16 +5,20 @@
  */
 package io.jooby.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.jooby.Abortable;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.Extension;
@@ -22,14 +26,19 @@ import io.jooby.Jooby;
 import io.jooby.MediaType;
 import io.jooby.MessageDecoder;
 import io.jooby.MessageEncoder;
+import io.jooby.Route;
 import io.jooby.ServiceRegistry;
 import io.jooby.StatusCode;
 
 import javax.annotation.Nonnull;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JSON module using Jackson: https://jooby.io/modules/jackson.
@@ -81,6 +90,12 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
 
   private final Set<Class<? extends Module>> modules = new HashSet<>();
 
+  private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  private volatile ObjectWriter writer;
+
   /**
    * Creates a Jackson module.
    *
@@ -89,6 +104,7 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
   public JacksonModule(@Nonnull ObjectMapper mapper) {
     this.mapper = mapper;
     this.typeFactory = mapper.getTypeFactory();
+    this.writer = streamWriter(mapper.writer());
   }
 
   /**
@@ -125,12 +141,35 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
         Module module = application.require(type);
         mapper.registerModule(module);
       }
+      // Pre-resolve writers once modules are registered
+      writers.clear();
+      readers.clear();
+      writer = streamWriter(mapper.writer());
+      for (Route route : application.getRoutes()) {
+        Type type = route.getReturnType();
+        if (isConcrete(type)) {
+          writers.computeIfAbsent(type, this::writerFor);
+        }
+      }
     });
   }
 
   @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
     ctx.setDefaultResponseType(MediaType.json);
-    return mapper.writer().writeValueAsBytes(value);
+    return writer(ctx, value).writeValueAsBytes(value);
+  }
+
+  @Override public boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    ctx.setDefaultResponseType(MediaType.json);
+    OutputStream output = ctx.responseStream();
+    try {
+      writer(ctx, value).writeValue(output, value);
+    } catch (Throwable x) {
+      Abortable.abort(output, x);
+      throw x;
+    }
+    output.close();
+    return true;
   }
 
   @Override public Object decode(Context ctx, Type type) throws Exception {
@@ -139,19 +178,59 @@ public class JacksonModule implements Extension, MessageDecoder, MessageEncoder
       if (type == JsonNode.class) {
         return mapper.readTree(body.bytes());
       } else {
-        return mapper.readValue(body.bytes(), typeFactory.constructType(type));
+        return reader(type).readValue(body.bytes());
       }
     } else {
       try (InputStream stream = body.stream()) {
         if (type == JsonNode.class) {
           return mapper.readTree(stream);
         } else {
-          return mapper.readValue(stream, typeFactory.constructType(type));
+          return reader(type).readValue(stream);
         }
       }
     }
   }
 
+  /**
+   * Writer for the route return type, when value is exactly of that type. Otherwise, the default
+   * writer (runtime type of the value).
+   */
+  private ObjectWriter writer(Context ctx, Object value) {
+    Route route = ctx.getRoute();
+    Type type = route == null ? null : route.getReturnType();
+    if (type == value.getClass()) {
+      return writers.computeIfAbsent(type, this::writerFor);
+    }
+    return writer;
+  }
+
+  private ObjectWriter writerFor(Type type) {
+    return streamWriter(mapper.writerFor(typeFactory.constructType(type)));
+  }
+
+  private ObjectReader reader(Type type) {
+    return readers.computeIfAbsent(type, it -> mapper.readerFor(typeFactory.constructType(it)));
+  }
+
+  /**
+   * Let the output decide when to flush, so small documents are sent with a content-length. Also,
+   * keep the output open on failure: a partial JSON document must not be sent.
+   */
+  private static ObjectWriter streamWriter(ObjectWriter writer) {
+    return writer
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+  }
+
+  private static boolean isConcrete(Type type) {
+    if (type instanceof Class) {
+      Class<?> clazz = (Class<?>) type;
+      return !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers())
+          && !clazz.isPrimitive() && clazz != Object.class;
+    }
+    return false;
+  }
+
   /**
    * Default object mapper. Install {@link Jdk8Module}, {@link JavaTimeModule},
    * {@link ParameterNamesModule} and {@link AfterburnerModule}.
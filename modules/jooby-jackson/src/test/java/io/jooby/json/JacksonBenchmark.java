@@ -0,0 +1,79 @@
+package io.jooby.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(5)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+  public static class Message {
+    public String message;
+
+    public int id;
+
+    public Message() {
+    }
+
+    public Message(String message, int id) {
+      this.message = message;
+      this.id = id;
+    }
+  }
+
+  private ObjectMapper mapper;
+
+  private ObjectWriter writer;
+
+  private ObjectReader reader;
+
+  private Message message;
+
+  private byte[] json;
+
+  @Setup
+  public void setup() throws Exception {
+    mapper = JacksonModule.create();
+    writer = mapper.writerFor(Message.class);
+    reader = mapper.readerFor(Message.class);
+    message = new Message("Hello, World!", 1);
+    json = mapper.writeValueAsBytes(message);
+  }
+
+  @Benchmark
+  public byte[] writer() throws Exception {
+    return mapper.writer().writeValueAsBytes(message);
+  }
+
+  @Benchmark
+  public byte[] cachedWriter() throws Exception {
+    return writer.writeValueAsBytes(message);
+  }
+
+  @Benchmark
+  public Object readValue() throws Exception {
+    return mapper.readValue(json, mapper.getTypeFactory().constructType(Message.class));
+  }
+
+  @Benchmark
+  public Object cachedReader() throws Exception {
+    return reader.readValue(json);
+  }
+}
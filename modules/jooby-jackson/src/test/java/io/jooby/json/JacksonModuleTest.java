@@ -3,8 +3,10 @@ package io.jooby.json;
 import io.jooby.Body;
 import io.jooby.Context;
 import io.jooby.MediaType;
+import io.jooby.Route;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,6 +46,46 @@ public class JacksonModuleTest {
     assertEquals(mapOf("k", "v"), result);
   }
 
+  public static class Animal {
+    public String name = "animal";
+  }
+
+  public static class Dog extends Animal {
+    public boolean bark = true;
+  }
+
+  @Test
+  public void renderRouteType() throws Exception {
+    Route route = new Route("GET", "/", ctx -> null).setReturnType(Animal.class);
+    Context ctx = mock(Context.class);
+    when(ctx.getRoute()).thenReturn(route);
+
+    JacksonModule jackson = new JacksonModule();
+
+    assertEquals("{\"name\":\"animal\"}",
+        new String(jackson.encode(ctx, new Animal()), StandardCharsets.UTF_8));
+    // subclass: must use runtime type
+    assertEquals("{\"name\":\"animal\",\"bark\":true}",
+        new String(jackson.encode(ctx, new Dog()), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void parseStream() throws Exception {
+    Body body = mock(Body.class);
+    when(body.isInMemory()).thenReturn(false);
+    byte[] bytes = "{\"name\":\"dog\",\"bark\":false}".getBytes(StandardCharsets.UTF_8);
+    when(body.stream()).thenReturn(new ByteArrayInputStream(bytes));
+
+    Context ctx = mock(Context.class);
+    when(ctx.body()).thenReturn(body);
+
+    JacksonModule jackson = new JacksonModule();
+
+    Dog dog = (Dog) jackson.decode(ctx, Dog.class);
+    assertEquals("dog", dog.name);
+    assertEquals(false, dog.bark);
+  }
+
   private Map<String, String> mapOf(String... values) {
     Map<String, String> hash = new HashMap<>();
     for (int i = 0; i < values.length; i += 2) {
@@ -436,7 +436,8 @@ public class JettyContext implements DefaultContext {
   @Nonnull @Override public OutputStream responseStream() {
     responseStarted = true;
     try {
-      ifSetChunked();
+      // Chunked is set by jetty once the output buffer overflows, otherwise the response is sent
+      // with a content-length header.
       return new JettyOutputStream(response.getOutputStream(), this);
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
@@ -445,6 +446,7 @@ public class JettyContext implements DefaultContext {
 
   @Nonnull @Override public PrintWriter responseWriter(MediaType type, Charset charset) {
     setResponseType(type, charset);
+    ifSetChunked();
     return new PrintWriter(responseStream());
   }
 
@@ -496,14 +498,11 @@ public class JettyContext implements DefaultContext {
   }
 
   @Nonnull @Override public Context send(@Nonnull InputStream in) {
-    try {
-      if (in instanceof FileInputStream) {
-        response.setLongContentLength(((FileInputStream) in).getChannel().size());
-      }
-      return sendStreamInternal(in);
-    } catch (IOException x) {
-      throw SneakyThrows.propagate(x);
+    if (in instanceof FileInputStream) {
+      // use channel
+      return send(((FileInputStream) in).getChannel());
     }
+    return sendStreamInternal(in);
   }
 
   private Context sendStreamInternal(@Nonnull InputStream in) {
@@ -530,8 +529,18 @@ public class JettyContext implements DefaultContext {
 
   @Nonnull @Override public Context send(@Nonnull FileChannel file) {
     try (FileChannel channel = file) {
-      response.setLongContentLength(channel.size());
-      return sendStreamInternal(Channels.newInputStream(file));
+      long len = channel.size();
+      response.setLongContentLength(len);
+      ByteRange range = ByteRange.parse(request.getHeader(HttpHeader.RANGE.asString()), len)
+          .apply(this);
+      responseStarted = true;
+      // channel is read with pooled buffers: no per request memory mapping
+      channel.position(range.getStart());
+      ReadableByteChannel content = range.getContentLength() == len
+          ? channel
+          : new RangeChannel(channel, range.getContentLength());
+      response.getHttpOutput().sendContent(content);
+      return this;
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
     } finally {
@@ -597,6 +606,18 @@ public class JettyContext implements DefaultContext {
     }
   }
 
+  void responseAborted(Throwable cause) {
+    if (response.isCommitted()) {
+      // part of the response was sent, it can't be completed
+      response.getHttpChannel().abort(cause);
+      responseDone();
+    } else {
+      // nothing was sent, let the error handler send a response
+      response.resetBuffer();
+      responseStarted = false;
+    }
+  }
+
   void responseDone() {
     try {
       ifSaveSession();
@@ -677,4 +698,42 @@ public class JettyContext implements DefaultContext {
       }
     };
   }
+
+  private static class RangeChannel implements ReadableByteChannel {
+    private final FileChannel channel;
+
+    private long remaining;
+
+    RangeChannel(FileChannel channel, long length) {
+      this.channel = channel;
+      this.remaining = length;
+    }
+
+    @Override public int read(ByteBuffer dst) throws IOException {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int limit = dst.limit();
+      if (dst.remaining() > remaining) {
+        dst.limit(dst.position() + (int) remaining);
+      }
+      try {
+        int read = channel.read(dst);
+        if (read > 0) {
+          remaining -= read;
+        }
+        return read;
+      } finally {
+        dst.limit(limit);
+      }
+    }
+
+    @Override public boolean isOpen() {
+      return channel.isOpen();
+    }
+
+    @Override public void close() throws IOException {
+      channel.close();
+    }
+  }
 }
@@ -5,13 +5,17 @@
  */
 package io.jooby.internal.jetty;
 
+import io.jooby.Abortable;
+
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
 
-public class JettyOutputStream extends OutputStream {
+public class JettyOutputStream extends OutputStream implements Abortable {
 
   private JettyContext jetty;
   private OutputStream out;
+  private boolean closed;
 
   public JettyOutputStream(OutputStream out, JettyContext jetty) {
     this.out = out;
@@ -35,10 +39,22 @@ public class JettyOutputStream extends OutputStream {
   }
 
   @Override public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
     try {
       out.close();
     } finally {
       jetty.responseDone();
     }
   }
+
+  @Override public void abort(@Nonnull Throwable cause) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    jetty.responseAborted(cause);
+  }
 }
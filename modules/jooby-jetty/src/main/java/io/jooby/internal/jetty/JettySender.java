@@ -31,6 +31,18 @@ public class JettySender implements Sender {
     return this;
   }
 
+  @Override public Sender write(@Nonnull byte[] data, int offset, int length,
+      @Nonnull Callback callback) {
+    try {
+      sender.write(data, offset, length);
+      sender.flush();
+      callback.onComplete(ctx, null);
+    } catch (IOException e) {
+      callback.onComplete(ctx, e);
+    }
+    return this;
+  }
+
   @Override public void close() {
     ctx.complete(null);
   }
@@ -17,21 +17,24 @@ import org.eclipse.jetty.websocket.api.RemoteEndpoint;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketListener;
 import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.eclipse.jetty.websocket.common.WebSocketRemoteEndpoint;
+import org.eclipse.jetty.websocket.common.frames.TextFrame;
 
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 
 public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, WebSocket,
     WriteCallback {
   /** All connected websocket. */
-  private static final ConcurrentMap<String, List<WebSocket>> all = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, Set<JettyWebSocket>> all = new ConcurrentHashMap<>();
 
   public static final String WEBSOCKET_SERVER_FACTORY = "___ws_s_f_";
 
@@ -140,7 +143,7 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
   }
 
   @Nonnull @Override public List<WebSocket> getSessions() {
-    List<WebSocket> sessions = all.get(key);
+    Set<JettyWebSocket> sessions = all.get(key);
     if (sessions == null) {
       return Collections.emptyList();
     }
@@ -155,9 +158,7 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
 
   @Nonnull @Override public WebSocket send(@Nonnull String message, boolean broadcast) {
     if (broadcast) {
-      for (WebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.send(message, false);
-      }
+      broadcast(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
     } else {
       if (isOpen()) {
         try {
@@ -174,20 +175,45 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
   }
 
   @Nonnull @Override public WebSocket send(@Nonnull byte[] message, boolean broadcast) {
-    return send(new String(message, StandardCharsets.UTF_8), broadcast);
+    if (broadcast) {
+      broadcast(ByteBuffer.wrap(message));
+      return this;
+    }
+    return send(new String(message, StandardCharsets.UTF_8), false);
   }
 
-  @Nonnull @Override public WebSocket render(@Nonnull Object value, boolean broadcast) {
-    if (broadcast) {
-      for (WebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.render(value, false);
-      }
-    } else {
+  private void broadcast(ByteBuffer payload) {
+    // encoded once, every session gets a view of the same payload
+    for (JettyWebSocket ws : all.getOrDefault(key, Collections.emptySet())) {
+      ws.sendText(payload.duplicate());
+    }
+  }
+
+  private void sendText(ByteBuffer payload) {
+    if (isOpen()) {
       try {
-        Context.websocket(ctx, this).render(value);
+        RemoteEndpoint remote = session.getRemote();
+        if (remote instanceof WebSocketRemoteEndpoint) {
+          TextFrame frame = new TextFrame();
+          frame.setPayload(payload);
+          ((WebSocketRemoteEndpoint) remote).uncheckedSendFrame(frame, this);
+        } else {
+          remote.sendString(StandardCharsets.UTF_8.decode(payload).toString(), this);
+        }
       } catch (Throwable x) {
         onWebSocketError(x);
       }
+    } else {
+      onWebSocketError(new IllegalStateException("Attempt to send a message on closed web socket"));
+    }
+  }
+
+  @Nonnull @Override public WebSocket render(@Nonnull Object value, boolean broadcast) {
+    try {
+      // encode once, broadcast (if any) happens at send time
+      Context.websocket(ctx, this, broadcast).render(value);
+    } catch (Throwable x) {
+      onWebSocketError(x);
     }
     return this;
   }
@@ -221,11 +247,11 @@ public class JettyWebSocket implements WebSocketListener, WebSocketConfigurer, W
   }
 
   private static void addSession(JettyWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.computeIfAbsent(ws.key, k -> ConcurrentHashMap.newKeySet()).add(ws);
   }
 
   private static void removeSession(JettyWebSocket ws) {
-    List<WebSocket> sockets = all.get(ws.key);
+    Set<JettyWebSocket> sockets = all.get(ws.key);
     if (sockets != null) {
       sockets.remove(ws);
     }
@@ -14,12 +14,17 @@ import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.MultiPartFormDataCompliance;
 import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.server.handler.gzip.GzipHandler;
@@ -99,6 +104,10 @@ public class Jetty extends io.jooby.Server.Base {
       httpConf.setMultiPartFormDataCompliance(MultiPartFormDataCompliance.RFC7578);
       ServerConnector http = new ServerConnector(server);
       http.addConnectionFactory(new HttpConnectionFactory(httpConf));
+      if (options.isHttp2()) {
+        // h2c: upgrade from HTTP/1.1 and prior knowledge
+        http.addConnectionFactory(new HTTP2CServerConnectionFactory(httpConf));
+      }
       http.setPort(options.getPort());
       http.setHost(options.getHost());
 
@@ -126,8 +135,19 @@ public class Jetty extends io.jooby.Server.Base {
         HttpConfiguration httpsConf = new HttpConfiguration(httpConf);
         httpsConf.addCustomizer(new SecureRequestCustomizer());
 
-        ServerConnector https = new ServerConnector(server, sslContextFactory);
-        https.addConnectionFactory(new HttpConnectionFactory(httpsConf));
+        ServerConnector https;
+        if (options.isHttp2()) {
+          HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConf);
+          ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+          alpn.setDefaultProtocol(http11.getProtocol());
+          sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+          https = new ServerConnector(server,
+              new SslConnectionFactory(sslContextFactory, alpn.getProtocol()), alpn,
+              new HTTP2ServerConnectionFactory(httpsConf), http11);
+        } else {
+          https = new ServerConnector(server, sslContextFactory);
+          https.addConnectionFactory(new HttpConnectionFactory(httpsConf));
+        }
         https.setPort(options.getSecurePort());
         https.setHost(options.getHost());
 
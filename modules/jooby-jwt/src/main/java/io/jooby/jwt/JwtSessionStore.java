@@ -12,9 +12,9 @@ import io.jooby.SessionStore;
 import io.jooby.SessionToken;
 import io.jooby.SneakyThrows;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -22,8 +22,13 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -41,13 +46,70 @@ import java.util.function.Function;
  * This session store delegates to {@link SessionStore#signed(SessionToken, Function, Function)}
  * using JSON Web Token library.
  *
+ * The token parser is created once. Optionally, recently verified tokens are kept in memory (see
+ * {@link #setCacheSize(int)}).
+ *
  * @author edgar
  * @since 2.2.0
  */
 public class JwtSessionStore implements SessionStore {
 
+  /**
+   * Bounded, least recently used cache of verified tokens.
+   */
+  private static class TokenCache {
+    private static class Entry {
+      private final Map<String, String> attributes;
+
+      private final long expiresAt;
+
+      Entry(Map<String, String> attributes, long expiresAt) {
+        this.attributes = attributes;
+        this.expiresAt = expiresAt;
+      }
+    }
+
+    private final Map<String, Entry> entries;
+
+    TokenCache(int maxSize) {
+      this.entries = new LinkedHashMap<String, Entry>(Math.min(maxSize, 1024), 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          return size() > maxSize;
+        }
+      };
+    }
+
+    synchronized Map<String, String> get(String token) {
+      Entry entry = entries.get(token);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expiresAt <= System.currentTimeMillis()) {
+        entries.remove(token);
+        return null;
+      }
+      return entry.attributes;
+    }
+
+    synchronized void put(String token, Map<String, String> attributes, long expiresAt) {
+      entries.put(token, new Entry(attributes, expiresAt));
+    }
+  }
+
   private final SessionStore store;
 
+  private final JwtParser parser;
+
+  private volatile TokenCache cache;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder verifications = new LongAdder();
+
+  private final LongAdder verificationTime = new LongAdder();
+
   /**
    * Creates a JSON Web Token session store. It uses a cookie token: {@link SessionToken#SID}.
    *
@@ -78,7 +140,71 @@ public class JwtSessionStore implements SessionStore {
    * @param token Session token.
    */
   public JwtSessionStore(@Nonnull Key key, @Nonnull SessionToken token) {
-    this.store = SessionStore.signed(token, decoder(key), encoder(key));
+    this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    this.store = SessionStore.signed(token, this::decode, encoder(key));
+  }
+
+  /**
+   * Keep up to <code>cacheSize</code> recently verified tokens in memory, so clients sending the
+   * same token on every request skip signature verification and claims parsing. Entries are
+   * evicted once the token expires (<code>exp</code> claim). Default is: <code>0</code> (no cache).
+   *
+   * @param cacheSize Max number of verified tokens to keep in memory or <code>0</code> to turn it
+   *     off.
+   * @return This store.
+   */
+  public @Nonnull JwtSessionStore setCacheSize(int cacheSize) {
+    this.cache = cacheSize > 0 ? new TokenCache(cacheSize) : null;
+    return this;
+  }
+
+  /**
+   * Number of tokens found in the verified-token cache. Useful for metrics.
+   *
+   * @return Number of tokens found in the verified-token cache.
+   */
+  public long getCacheHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of tokens not found in the verified-token cache. Useful for metrics.
+   *
+   * @return Number of tokens not found in the verified-token cache.
+   */
+  public long getCacheMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Ratio of tokens found in the verified-token cache. Useful for metrics.
+   *
+   * @return Ratio of tokens found in the verified-token cache or <code>0</code> when there are no
+   *     requests.
+   */
+  public double getCacheHitRatio() {
+    long hits = getCacheHitCount();
+    long requests = hits + getCacheMissCount();
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+
+  /**
+   * Number of token verifications (signature and claims parsing). Useful for metrics.
+   *
+   * @return Number of token verifications.
+   */
+  public long getVerificationCount() {
+    return verifications.sum();
+  }
+
+  /**
+   * Average time spent verifying a token. Useful for metrics.
+   *
+   * @return Average time spent verifying a token.
+   */
+  public @Nonnull Duration getAverageVerificationTime() {
+    long count = getVerificationCount();
+    return Duration.ofNanos(count == 0 ? 0 : verificationTime.sum() / count);
   }
 
   @Nonnull @Override public Session newSession(@Nonnull Context ctx) {
@@ -105,19 +231,35 @@ public class JwtSessionStore implements SessionStore {
     store.renewSessionId(ctx, session);
   }
 
-  static SneakyThrows.Function<String, Map<String, String>> decoder(Key key) {
-    return value -> {
-      try {
-        Jws<Claims> claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(value);
-        Map<String, String> attributes = new HashMap<>();
-        for (Map.Entry<String, Object> entry : claims.getBody().entrySet()) {
-          attributes.put(entry.getKey(), entry.getValue().toString());
-        }
+  private Map<String, String> decode(String token) {
+    TokenCache cache = this.cache;
+    if (cache != null) {
+      Map<String, String> attributes = cache.get(token);
+      if (attributes != null) {
+        hits.increment();
         return attributes;
-      } catch (JwtException x) {
-        return null;
       }
-    };
+      misses.increment();
+    }
+    long start = System.nanoTime();
+    try {
+      Claims claims = parser.parseClaimsJws(token).getBody();
+      Map<String, String> attributes = new HashMap<>();
+      for (Map.Entry<String, Object> entry : claims.entrySet()) {
+        attributes.put(entry.getKey(), entry.getValue().toString());
+      }
+      if (cache != null) {
+        Date expiration = claims.getExpiration();
+        cache.put(token, Collections.unmodifiableMap(attributes),
+            expiration == null ? Long.MAX_VALUE : expiration.getTime());
+      }
+      return attributes;
+    } catch (JwtException x) {
+      return null;
+    } finally {
+      verifications.increment();
+      verificationTime.add(System.nanoTime() - start);
+    }
   }
 
   static SneakyThrows.Function<Map<String, String>, String> encoder(Key key) {
@@ -0,0 +1,49 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.maven;
+
+import io.jooby.internal.RouteIndex;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.project.MavenProject;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_CLASSES;
+import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE_PLUS_RUNTIME;
+
+/**
+ * Generate a route index with the return type of each route. At startup the application reads
+ * the index and skips bytecode analysis of route handlers.
+ *
+ * The application class is created (not started) in order to collect routes, so it must have a
+ * default constructor. Extensions are not installed while creating it.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+@Mojo(name = "index", threadSafe = true,
+    requiresDependencyResolution = COMPILE_PLUS_RUNTIME,
+    aggregator = true,
+    defaultPhase = PROCESS_CLASSES
+)
+public class IndexMojo extends BaseMojo {
+
+  @Override protected void doExecute(@Nonnull List<MavenProject> projects, @Nonnull String mainClass)
+      throws Exception {
+    ClassLoader classLoader = createClassLoader(projects);
+    Path outputDir = Paths.get(project.getBuild().getOutputDirectory());
+
+    getLog().info("Generating route index: " + mainClass);
+    getLog().debug("Using classloader: " + classLoader);
+    getLog().debug("Output directory: " + outputDir);
+
+    Path output = RouteIndex.generate(classLoader, mainClass, outputDir);
+    getLog().info("  writing: " + output);
+  }
+}
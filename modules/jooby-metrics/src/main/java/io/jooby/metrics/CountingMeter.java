@@ -0,0 +1,63 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import com.codahale.metrics.Meter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Meter derived from a cumulative counter owned by someone else (like session evictions). The
+ * counter is polled every time the meter is read and the difference is marked, so rates are
+ * computed by the meter as usual without hooking into the counter owner.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+class CountingMeter extends Meter {
+
+  private final LongSupplier counter;
+
+  private final AtomicLong last = new AtomicLong();
+
+  CountingMeter(LongSupplier counter) {
+    this.counter = counter;
+  }
+
+  @Override public long getCount() {
+    sync();
+    return super.getCount();
+  }
+
+  @Override public double getMeanRate() {
+    sync();
+    return super.getMeanRate();
+  }
+
+  @Override public double getOneMinuteRate() {
+    sync();
+    return super.getOneMinuteRate();
+  }
+
+  @Override public double getFiveMinuteRate() {
+    sync();
+    return super.getFiveMinuteRate();
+  }
+
+  @Override public double getFifteenMinuteRate() {
+    sync();
+    return super.getFifteenMinuteRate();
+  }
+
+  private void sync() {
+    long count = counter.getAsLong();
+    long previous = last.get();
+    if (count > previous && last.compareAndSet(previous, count)) {
+      mark(count - previous);
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed size, lock free reservoir with log-linear buckets (the layout popularized by
+ * HdrHistogram). Values are recorded with a single atomic increment, so there is no sample
+ * array, no locking and no allocation on the write path.
+ *
+ * Each power of two is split into {@link #SUB_BUCKETS} linear buckets, which keeps the relative
+ * error of reported quantiles below <code>1/SUB_BUCKETS</code> (~6%) for every positive long
+ * value.
+ *
+ * Values decay with two rotating windows: recording goes to the current window and snapshots
+ * merge the current and previous windows. So a snapshot reflects between one and two windows
+ * (one minute by default) of recent values.
+ *
+ * @author edgar
+ * @since 2.9.3
+ */
+class HdrReservoir implements Reservoir {
+
+  private static final int SUB_BITS = 4;
+
+  static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+  private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+  private static class Window {
+    private final long start;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    Window(long start) {
+      this.start = start;
+    }
+  }
+
+  private final long window;
+
+  private final LongSupplier clock;
+
+  private volatile Window current;
+
+  private volatile Window previous;
+
+  HdrReservoir() {
+    this(WINDOW, System::nanoTime);
+  }
+
+  HdrReservoir(long window, LongSupplier clock) {
+    this.window = window;
+    this.clock = clock;
+    long now = clock.getAsLong();
+    this.current = new Window(now);
+    this.previous = new Window(now - window);
+  }
+
+  @Override public int size() {
+    rotate();
+    return (int) Math.min(previous.count.sum() + current.count.sum(), Integer.MAX_VALUE);
+  }
+
+  @Override public void update(long value) {
+    long v = Math.max(value, 0);
+    Window current = rotate();
+    current.counts.incrementAndGet(index(v));
+    current.count.increment();
+    current.sum.add(v);
+    current.min.accumulate(v);
+    current.max.accumulate(v);
+  }
+
+  @Override public Snapshot getSnapshot() {
+    Window current = rotate();
+    Window previous = this.previous;
+    long[] buckets = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = previous.counts.get(i) + current.counts.get(i);
+      total += buckets[i];
+    }
+    if (total == 0) {
+      return new BucketSnapshot(buckets, 0, 0, 0, 0);
+    }
+    return new BucketSnapshot(buckets, total, previous.sum.sum() + current.sum.sum(),
+        Math.min(previous.min.get(), current.min.get()),
+        Math.max(previous.max.get(), current.max.get()));
+  }
+
+  private Window rotate() {
+    Window current = this.current;
+    long now = clock.getAsLong();
+    if (now - current.start < window) {
+      return current;
+    }
+    synchronized (this) {
+      current = this.current;
+      long elapsed = now - current.start;
+      if (elapsed >= window) {
+        // previous window is dropped, current becomes previous unless it is too old too
+        this.previous = elapsed < window * 2 ? current : new Window(now - window);
+        current = new Window(now);
+        this.current = current;
+      }
+      return current;
+    }
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+    int offset = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + offset;
+  }
+
+  static long lowest(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long offset = index % SUB_BUCKETS;
+    return (SUB_BUCKETS + offset) << shift;
+  }
+
+  static long highest(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    return lowest(index) + (1L << shift) - 1;
+  }
+
+  private static class BucketSnapshot extends Snapshot {
+    private final long[] buckets;
+
+    private final long count;
+
+    private final long sum;
+
+    private final long min;
+
+    private final long max;
+
+    BucketSnapshot(long[] buckets, long count, long sum, long min, long max) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override public double getValue(double quantile) {
+      if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+        throw new IllegalArgumentException(quantile + " is not in [0..1]");
+      }
+      if (count == 0) {
+        return 0.0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          long value = lowest(i) + (highest(i) - lowest(i)) / 2;
+          return Math.max(min, Math.min(max, value));
+        }
+      }
+      return max;
+    }
+
+    /**
+     * Bucket values are kept as counters, individual samples are not available. This method
+     * returns the representative value of each non empty bucket.
+     *
+     * @return Representative values of non empty buckets.
+     */
+    @Override public long[] getValues() {
+      long[] values = new long[buckets.length];
+      int size = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        if (buckets[i] > 0) {
+          values[size++] = Math.max(min, Math.min(max, lowest(i) + (highest(i) - lowest(i)) / 2));
+        }
+      }
+      return Arrays.copyOf(values, size);
+    }
+
+    @Override public int size() {
+      return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    @Override public long getMax() {
+      return max;
+    }
+
+    @Override public double getMean() {
+      return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    @Override public long getMin() {
+      return min;
+    }
+
+    @Override public double getStdDev() {
+      if (count <= 1) {
+        return 0.0;
+      }
+      double mean = getMean();
+      double variance = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        if (buckets[i] > 0) {
+          double diff = (lowest(i) + (highest(i) - lowest(i)) / 2) - mean;
+          variance += buckets[i] * diff * diff;
+        }
+      }
+      return Math.sqrt(variance / (count - 1));
+    }
+
+    @Override public void dump(OutputStream output) {
+      try (PrintWriter out = new PrintWriter(
+          new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
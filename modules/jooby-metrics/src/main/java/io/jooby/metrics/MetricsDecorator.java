@@ -6,31 +6,164 @@
 package io.jooby.metrics;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import io.jooby.Context;
 import io.jooby.Route;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Capture request information: active requests, global and per route execution time and a
+ * breakdown of the response codes.
+ *
+ * Route metrics are resolved on the first request of each route and kept by the route handler,
+ * so no registry or map lookup happens on later requests. Produces:
+ *
+ * <ul>
+ *   <li><code>request.actives</code>: counter of active requests.</li>
+ *   <li><code>request</code>: global timer.</li>
+ *   <li><code>responses.[code]</code>: meter per response code.</li>
+ *   <li><code>request.[method]</code>: per HTTP method timer.</li>
+ *   <li><code>request.[method].[pattern]</code>: per route timer. The pattern is the full route
+ *   pattern, including mount path and context path.</li>
+ *   <li><code>request.[method].[pattern].responses.[1xx..5xx]</code>: per route status class
+ *     meters.</li>
+ * </ul>
+ *
+ * Per method and per route timers use a fixed size log-linear histogram, recording a value is a
+ * single atomic increment.
+ */
 public class MetricsDecorator implements Route.Decorator {
 
+  private static final String[] STATUS_CLASS = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+  private static final int MAX_STATUS = 600;
+
+  private static class RequestMetrics {
+    private final MetricRegistry registry;
+
+    private final Counter actives;
+
+    private final Timer request;
+
+    private final AtomicReferenceArray<Meter> responses = new AtomicReferenceArray<>(MAX_STATUS);
+
+    RequestMetrics(MetricRegistry registry) {
+      this.registry = registry;
+      this.actives = registry.counter("request.actives");
+      this.request = registry.timer("request");
+    }
+
+    public Meter response(int code) {
+      if (code < 0 || code >= MAX_STATUS) {
+        return registry.meter("responses." + code);
+      }
+      Meter meter = responses.get(code);
+      if (meter == null) {
+        meter = registry.meter("responses." + code);
+        responses.set(code, meter);
+      }
+      return meter;
+    }
+  }
+
+  private static class RouteMetrics {
+    private final Timer method;
+
+    private final Timer timer;
+
+    private final Meter[] statusClass = new Meter[STATUS_CLASS.length];
+
+    RouteMetrics(MetricRegistry registry, String contextPath, Route route) {
+      String pattern = contextPath.equals("/")
+          ? route.getPattern()
+          : contextPath + route.getPattern();
+      String name = MetricRegistry.name("request", route.getMethod(), pattern);
+      this.method = registry.timer(MetricRegistry.name("request", route.getMethod()),
+          () -> new Timer(new HdrReservoir()));
+      this.timer = registry.timer(name, () -> new Timer(new HdrReservoir()));
+      for (int i = 0; i < STATUS_CLASS.length; i++) {
+        statusClass[i] = registry.meter(MetricRegistry.name(name, "responses", STATUS_CLASS[i]));
+      }
+    }
+
+    public void mark(int code) {
+      int index = code / 100 - 1;
+      if (index >= 0 && index < statusClass.length) {
+        statusClass[index].mark();
+      }
+    }
+  }
+
+  private volatile RequestMetrics metrics;
+
+  /**
+   * Creates a metrics decorator. Registry is resolved from application services on first
+   * request.
+   */
+  public MetricsDecorator() {
+  }
+
+  /**
+   * Creates a metrics decorator.
+   *
+   * @param registry Metric registry.
+   */
+  public MetricsDecorator(@Nonnull MetricRegistry registry) {
+    this.metrics = new RequestMetrics(registry);
+  }
+
   @Nonnull
   @Override
   public Route.Handler apply(@Nonnull Route.Handler next) {
+    // A decorator is applied once per route, route metrics are bound to this handler
+    AtomicReference<RouteMetrics> routeMetrics = new AtomicReference<>();
     return ctx -> {
-      MetricRegistry registry = ctx.require(MetricRegistry.class);
-      Counter counter = registry.counter("request.actives");
-      Timer.Context timer = registry.timer("request").time();
+      RequestMetrics metrics = metrics(ctx);
+      RouteMetrics cached = routeMetrics.get();
+      RouteMetrics route = cached == null ? route(routeMetrics, metrics, ctx) : cached;
+      long start = System.nanoTime();
 
-      counter.inc();
+      metrics.actives.inc();
 
       ctx.onComplete(context -> {
-        timer.stop();
-        counter.dec();
-        registry.meter("responses." + context.getResponseCode().value()).mark();
+        long elapsed = System.nanoTime() - start;
+        int code = context.getResponseCode().value();
+        metrics.request.update(elapsed, TimeUnit.NANOSECONDS);
+        route.method.update(elapsed, TimeUnit.NANOSECONDS);
+        route.timer.update(elapsed, TimeUnit.NANOSECONDS);
+        metrics.actives.dec();
+        metrics.response(code).mark();
+        route.mark(code);
       });
 
       return next.apply(ctx);
     };
   }
+
+  private RouteMetrics route(AtomicReference<RouteMetrics> routeMetrics, RequestMetrics metrics,
+      Context ctx) {
+    RouteMetrics route = new RouteMetrics(metrics.registry, ctx.getContextPath(), ctx.getRoute());
+    routeMetrics.set(route);
+    return route;
+  }
+
+  private RequestMetrics metrics(Context ctx) {
+    RequestMetrics metrics = this.metrics;
+    if (metrics == null) {
+      synchronized (this) {
+        metrics = this.metrics;
+        if (metrics == null) {
+          metrics = new RequestMetrics(ctx.require(MetricRegistry.class));
+          this.metrics = metrics;
+        }
+      }
+    }
+    return metrics;
+  }
 }
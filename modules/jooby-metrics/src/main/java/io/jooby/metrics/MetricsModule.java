@@ -5,6 +5,7 @@
  */
 package io.jooby.metrics;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Reporter;
@@ -15,6 +16,7 @@ import io.jooby.Extension;
 import io.jooby.Jooby;
 import io.jooby.Router;
 import io.jooby.ServiceRegistry;
+import io.jooby.SessionStore;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
@@ -50,6 +52,8 @@ public class MetricsModule implements Extension {
   private final Set<BiFunction<MetricRegistry, Config, Reporter>> reporters = new LinkedHashSet<>();
 
   private final MetricRegistry metricRegistry;
+
+  private boolean sessions;
   private final HealthCheckRegistry healthCheckRegistry;
 
   /**
@@ -145,6 +149,18 @@ public class MetricsModule implements Extension {
     return this;
   }
 
+  /**
+   * Publish session store metrics: <code>session.count</code> (live sessions gauge) and
+   * <code>session.evictions</code> (meter of sessions evicted due to expiration: count and
+   * rates). Only available for in-memory session stores, see {@link SessionStore.InMemory}.
+   *
+   * @return This metrics module.
+   */
+  public MetricsModule sessions() {
+    this.sessions = true;
+    return this;
+  }
+
   /**
    * Append a metric to the {@link MetricRegistry}, this call is identical to
    * {@link MetricRegistry#register(String, Metric)}.
@@ -243,6 +259,15 @@ public class MetricsModule implements Extension {
       metricClasses.forEach((name, clazz) -> metricRegistry.register(name, application.require(clazz)));
       healthCheckClasses.forEach((name, clazz) -> healthCheckRegistry.register(name, application.require(clazz)));
 
+      SessionStore sessionStore = application.getSessionStore();
+      if (sessions && sessionStore instanceof SessionStore.InMemory) {
+        SessionStore.InMemory store = (SessionStore.InMemory) sessionStore;
+        metricRegistry.register("session.count", (Gauge<Long>) store::getSessionCount);
+        if (store.getEvictionCount() >= 0) {
+          metricRegistry.register("session.evictions", new CountingMeter(store::getEvictionCount));
+        }
+      }
+
       Config config = application.getConfig();
 
       this.reporters.stream()
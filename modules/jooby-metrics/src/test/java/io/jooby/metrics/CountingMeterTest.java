@@ -0,0 +1,27 @@
+package io.jooby.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountingMeterTest {
+
+  @Test
+  public void shouldMarkCounterDifference() {
+    AtomicLong evictions = new AtomicLong();
+    CountingMeter meter = new CountingMeter(evictions::get);
+    assertEquals(0, meter.getCount());
+
+    evictions.addAndGet(5);
+    assertEquals(5, meter.getCount());
+    assertEquals(5, meter.getCount());
+    assertTrue(meter.getMeanRate() > 0);
+
+    evictions.addAndGet(3);
+    assertTrue(meter.getOneMinuteRate() >= 0);
+    assertEquals(8, meter.getCount());
+  }
+}
@@ -0,0 +1,124 @@
+package io.jooby.metrics;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HdrReservoirTest {
+
+  @Test
+  public void bucketBoundaries() {
+    for (int i = 0; i < HdrReservoir.SUB_BUCKETS; i++) {
+      assertEquals(i, HdrReservoir.index(i));
+      assertEquals(i, HdrReservoir.lowest(i));
+      assertEquals(i, HdrReservoir.highest(i));
+    }
+    assertEquals(16, HdrReservoir.index(16));
+    assertEquals(31, HdrReservoir.index(31));
+    assertEquals(32, HdrReservoir.index(32));
+    assertEquals(32, HdrReservoir.index(33));
+    assertEquals(33, HdrReservoir.index(34));
+    assertEquals(32, HdrReservoir.lowest(32));
+    assertEquals(33, HdrReservoir.highest(32));
+    assertEquals(HdrReservoir.BUCKETS - 1, HdrReservoir.index(Long.MAX_VALUE));
+    assertEquals(Long.MAX_VALUE, HdrReservoir.highest(HdrReservoir.BUCKETS - 1));
+
+    for (int i = 0; i < HdrReservoir.BUCKETS - 1; i++) {
+      long lowest = HdrReservoir.lowest(i);
+      long highest = HdrReservoir.highest(i);
+      assertEquals(i, HdrReservoir.index(lowest));
+      assertEquals(i, HdrReservoir.index(highest));
+      // buckets are contiguous
+      assertEquals(i + 1, HdrReservoir.index(highest + 1));
+      // relative error
+      assertTrue(highest - lowest <= lowest / HdrReservoir.SUB_BUCKETS, "bucket: " + i);
+    }
+  }
+
+  @Test
+  public void percentiles() {
+    HdrReservoir reservoir = new HdrReservoir();
+    for (long i = 1; i <= 1000; i++) {
+      reservoir.update(i);
+    }
+    Snapshot snapshot = reservoir.getSnapshot();
+    assertEquals(1000, reservoir.size());
+    assertEquals(1000, snapshot.size());
+    assertEquals(1, snapshot.getMin());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(500.5, snapshot.getMean(), 0.0);
+    assertClose(500, snapshot.getMedian());
+    assertClose(750, snapshot.get75thPercentile());
+    assertClose(990, snapshot.get99thPercentile());
+    assertClose(999, snapshot.get999thPercentile());
+    assertEquals(1, snapshot.getValue(0.0), 0.0);
+    assertEquals(1000, snapshot.getValue(1.0), 0.0);
+    assertClose(288.8, snapshot.getStdDev());
+
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getValue(1.5));
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getValue(Double.NaN));
+  }
+
+  @Test
+  public void singleValue() {
+    HdrReservoir reservoir = new HdrReservoir();
+    reservoir.update(1234567);
+    Snapshot snapshot = reservoir.getSnapshot();
+    // clamped to min/max
+    assertEquals(1234567, snapshot.getMedian(), 0.0);
+    assertEquals(1234567, snapshot.get99thPercentile(), 0.0);
+    assertArrayEquals(new long[]{1234567}, snapshot.getValues());
+    assertEquals(0.0, snapshot.getStdDev(), 0.0);
+  }
+
+  @Test
+  public void negativeAndEmpty() {
+    HdrReservoir reservoir = new HdrReservoir();
+    Snapshot empty = reservoir.getSnapshot();
+    assertEquals(0, empty.size());
+    assertEquals(0.0, empty.getMedian(), 0.0);
+    assertEquals(0.0, empty.getMean(), 0.0);
+    assertEquals(0, empty.getValues().length);
+
+    reservoir.update(-5);
+    assertEquals(0, reservoir.getSnapshot().getMax());
+  }
+
+  @Test
+  public void decay() {
+    AtomicLong clock = new AtomicLong(1000);
+    HdrReservoir reservoir = new HdrReservoir(10, clock::get);
+    reservoir.update(100);
+    assertEquals(1, reservoir.size());
+
+    // moves to previous window
+    clock.addAndGet(10);
+    reservoir.update(200);
+    Snapshot snapshot = reservoir.getSnapshot();
+    assertEquals(2, snapshot.size());
+    assertEquals(100, snapshot.getMin());
+    assertEquals(200, snapshot.getMax());
+
+    // first value is dropped
+    clock.addAndGet(10);
+    snapshot = reservoir.getSnapshot();
+    assertEquals(1, snapshot.size());
+    assertEquals(200, snapshot.getMin());
+
+    // idle for a long time
+    clock.addAndGet(100);
+    assertEquals(0, reservoir.size());
+    assertEquals(0, reservoir.getSnapshot().size());
+  }
+
+  private static void assertClose(double expected, double actual) {
+    assertEquals(expected, actual, expected / HdrReservoir.SUB_BUCKETS,
+        "expected: " + expected + ", actual: " + actual);
+  }
+}
@@ -0,0 +1,47 @@
+package io.jooby.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import io.jooby.Context;
+import io.jooby.Route;
+import io.jooby.StatusCode;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsDecoratorTest {
+
+  @Test
+  public void shouldUseFullRoutePattern() throws Exception {
+    MetricRegistry registry = new MetricRegistry();
+    Route route = new Route("GET", "/api/users/{id}", ctx -> "OK");
+    Route.Handler handler = new MetricsDecorator(registry).apply(ctx -> "OK");
+
+    Context ctx = mock(Context.class);
+    when(ctx.getContextPath()).thenReturn("/app");
+    when(ctx.getRoute()).thenReturn(route);
+    when(ctx.getResponseCode()).thenReturn(StatusCode.OK);
+
+    assertEquals("OK", handler.apply(ctx));
+    assertEquals("OK", handler.apply(ctx));
+
+    ArgumentCaptor<Route.Complete> complete = ArgumentCaptor.forClass(Route.Complete.class);
+    verify(ctx, times(2)).onComplete(complete.capture());
+    for (Route.Complete listener : complete.getAllValues()) {
+      listener.apply(ctx);
+    }
+    // route is resolved once
+    verify(ctx, times(1)).getRoute();
+
+    assertEquals(2, registry.timer("request").getCount());
+    assertEquals(2, registry.timer("request.GET").getCount());
+    assertEquals(2, registry.timer("request.GET./app/api/users/{id}").getCount());
+    assertEquals(2, registry.meter("request.GET./app/api/users/{id}.responses.2xx").getCount());
+    assertEquals(2, registry.meter("responses.200").getCount());
+    assertEquals(0, registry.counter("request.actives").getCount());
+  }
+}
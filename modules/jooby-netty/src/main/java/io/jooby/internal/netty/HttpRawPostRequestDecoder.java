@@ -5,9 +5,14 @@
  */
 package io.jooby.internal.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.multipart.HttpData;
+import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestDecoder;
 import io.netty.handler.codec.http.multipart.InterfaceHttpData;
 import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
@@ -16,12 +21,47 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Raw (non form) body decoder. Chunks are retained (not copied) into a composite buffer while
+ * the body is smaller than <code>threshold</code>. Larger bodies are moved to a {@link HttpData}
+ * created by the data factory, which spills to disk.
+ */
 public class HttpRawPostRequestDecoder implements InterfaceHttpPostRequestDecoder {
 
+  private final HttpDataFactory factory;
+
+  private final HttpRequest request;
+
+  private final long threshold;
+
+  private CompositeByteBuf content;
+
   private HttpData data;
 
-  public HttpRawPostRequestDecoder(HttpData data) {
-    this.data = data;
+  public HttpRawPostRequestDecoder(HttpDataFactory factory, HttpRequest request,
+      ByteBufAllocator alloc, long threshold) {
+    this.factory = factory;
+    this.request = request;
+    this.threshold = threshold;
+    this.content = alloc.compositeBuffer(Integer.MAX_VALUE);
+  }
+
+  /**
+   * In memory body or <code>null</code> when body was moved to {@link #data()}.
+   *
+   * @return In memory body or <code>null</code>.
+   */
+  public ByteBuf content() {
+    return content;
+  }
+
+  /**
+   * Body data or <code>null</code> while body is in memory.
+   *
+   * @return Body data or <code>null</code>.
+   */
+  public HttpData data() {
+    return data;
   }
 
   @Override public boolean isMultipart() {
@@ -47,9 +87,21 @@ public class HttpRawPostRequestDecoder implements InterfaceHttpPostRequestDecode
     return data;
   }
 
-  @Override public InterfaceHttpPostRequestDecoder offer(HttpContent content) {
+  @Override public InterfaceHttpPostRequestDecoder offer(HttpContent chunk) {
     try {
-      data.addContent(content.content().copy(), content instanceof LastHttpContent);
+      ByteBuf buffer = chunk.content();
+      boolean last = chunk instanceof LastHttpContent;
+      if (content != null) {
+        if (content.readableBytes() + buffer.readableBytes() <= threshold) {
+          content.addComponent(true, buffer.retain());
+          return this;
+        }
+        // spill: hand over what we have so far
+        data = factory.createAttribute(request, "body");
+        data.addContent(content, false);
+        content = null;
+      }
+      data.addContent(buffer.retain(), last);
       return this;
     } catch (IOException x) {
       throw new HttpPostRequestDecoder.ErrorDataDecoderException(x);
@@ -69,7 +121,13 @@ public class HttpRawPostRequestDecoder implements InterfaceHttpPostRequestDecode
   }
 
   @Override public void destroy() {
-    data.delete();
+    if (content != null) {
+      content.release();
+      content = null;
+    }
+    if (data != null) {
+      data.delete();
+    }
   }
 
   @Override public void cleanFiles() {
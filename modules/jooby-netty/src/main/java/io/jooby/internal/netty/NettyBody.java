@@ -10,7 +10,11 @@ import io.jooby.Context;
 import io.jooby.MediaType;
 import io.jooby.SneakyThrows;
 import io.jooby.ValueNode;
+import io.jooby.exception.MissingValueException;
 import io.jooby.internal.MissingValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.multipart.HttpData;
 
 import javax.annotation.Nonnull;
@@ -19,8 +23,10 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Collections;
@@ -30,16 +36,32 @@ import java.util.Map;
 public class NettyBody implements Body {
   private final Context ctx;
   private final HttpData data;
+  private final ByteBuf content;
   private long length;
 
   public NettyBody(Context ctx, HttpData data, long contentLength) {
     this.ctx = ctx;
     this.data = data;
+    this.content = null;
     this.length = contentLength;
   }
 
+  /**
+   * Creates an in memory body backed by request buffers. Buffers are owned (and released) by
+   * the body decoder.
+   *
+   * @param ctx Current context.
+   * @param content Request buffers.
+   */
+  public NettyBody(Context ctx, ByteBuf content) {
+    this.ctx = ctx;
+    this.data = null;
+    this.content = content;
+    this.length = content.readableBytes();
+  }
+
   @Override public boolean isInMemory() {
-    return data.isInMemory();
+    return content != null || data.isInMemory();
   }
 
   @Override public long getSize() {
@@ -47,6 +69,9 @@ public class NettyBody implements Body {
   }
 
   @Override public InputStream stream() {
+    if (content != null) {
+      return new ByteBufInputStream(content.duplicate());
+    }
     try {
       if (data.isInMemory()) {
         return new ByteArrayInputStream(data.get());
@@ -62,6 +87,9 @@ public class NettyBody implements Body {
   }
 
   @Override public byte[] bytes() {
+    if (content != null) {
+      return ByteBufUtil.getBytes(content);
+    }
     try {
       if (data.isInMemory()) {
         return data.get();
@@ -72,10 +100,27 @@ public class NettyBody implements Body {
     }
   }
 
+  @Nonnull @Override public ByteBuffer byteBuffer() {
+    if (content != null) {
+      return content.nioBuffer().asReadOnlyBuffer();
+    }
+    return ByteBuffer.wrap(bytes());
+  }
+
   @Nonnull @Override public String value() {
     return value(StandardCharsets.UTF_8);
   }
 
+  @Nonnull @Override public String value(@Nonnull Charset charset) {
+    if (content != null) {
+      if (length == 0) {
+        throw new MissingValueException("body");
+      }
+      return content.toString(charset);
+    }
+    return Body.super.value(charset);
+  }
+
   @Nonnull @Override public ValueNode get(@Nonnull int index) {
     return index == 0 ? this : get(Integer.toString(index));
   }
@@ -32,6 +32,7 @@ import io.jooby.ValueNode;
 import io.jooby.WebSocket;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -58,6 +59,7 @@ import io.netty.handler.codec.http.multipart.InterfaceHttpPostRequestDecoder;
 import io.netty.handler.codec.http.websocketx.WebSocketDecoderConfig;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketServerHandshakerFactory;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.stream.ChunkedNioFile;
 import io.netty.handler.stream.ChunkedNioStream;
 import io.netty.handler.stream.ChunkedStream;
@@ -87,7 +89,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 
 import static io.netty.buffer.Unpooled.copiedBuffer;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
@@ -105,6 +106,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class NettyContext implements DefaultContext, ChannelFutureListener {
 
   private static final HttpHeaders NO_TRAILING = EmptyHttpHeaders.INSTANCE;
+  private static final String HTTP_2_0 = "HTTP/2.0";
   DefaultHttpHeaders setHeaders = new DefaultHttpHeaders(true);
   private final int bufferSize;
   InterfaceHttpPostRequestDecoder decoder;
@@ -264,12 +266,14 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public String getProtocol() {
-    return req.protocolVersion().text();
+    return isHttp2() ? HTTP_2_0 : req.protocolVersion().text();
   }
 
   @Nonnull @Override public String getScheme() {
     if (scheme == null) {
-      scheme = ctx.pipeline().get("ssl") == null ? "http" : "https";
+      // http2 streams are child channels, ssl lives on the connection pipeline
+      Channel connection = isHttp2() ? ctx.channel().parent() : ctx.channel();
+      scheme = connection.pipeline().get("ssl") == null ? "http" : "https";
     }
     return scheme;
   }
@@ -302,6 +306,14 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public Body body() {
+    if (decoder instanceof HttpRawPostRequestDecoder) {
+      HttpRawPostRequestDecoder raw = (HttpRawPostRequestDecoder) decoder;
+      ByteBuf content = raw.content();
+      if (content != null) {
+        return new NettyBody(this, content);
+      }
+      return new NettyBody(this, raw.data(), HttpUtil.getContentLength(req, -1L));
+    }
     if (decoder != null && decoder.hasNext()) {
       return new NettyBody(this, (HttpData) decoder.next(), HttpUtil.getContentLength(req, -1L));
     }
@@ -467,7 +479,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     responseStarted = true;
     setResponseType(type, charset);
 
-    return new PrintWriter(new NettyWriter(newOutputStream(), charset));
+    return new PrintWriter(new NettyWriter(newOutputStream(false), charset));
   }
 
   @Nonnull @Override public Sender responseSender() {
@@ -478,7 +490,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   @Nonnull @Override public OutputStream responseStream() {
-    return newOutputStream();
+    return newOutputStream(true);
   }
 
   @Nonnull @Override public Context send(@Nonnull String data) {
@@ -539,10 +551,9 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     ctx.channel().eventLoop().execute(() -> {
       // Headers
       ctx.write(rsp, ctx.voidPromise());
-      // Body
-      ctx.write(new ChunkedNioStream(channel, bufferSize), ctx.voidPromise());
-      // Finish
-      ctx.writeAndFlush(EMPTY_LAST_CONTENT, promise(this));
+      // Body + Finish: chunks as http content, so they work on HTTP/2 streams too
+      ctx.writeAndFlush(new HttpChunkedInput(new ChunkedNioStream(channel, bufferSize)),
+          promise(this));
     });
     return this;
   }
@@ -564,10 +575,8 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       ctx.channel().eventLoop().execute(() -> {
         // Headers
         ctx.write(rsp, ctx.voidPromise());
-        // Body
-        ctx.write(chunkedStream, ctx.voidPromise());
-        // Finish
-        ctx.writeAndFlush(EMPTY_LAST_CONTENT, promise(this));
+        // Body + Finish: chunks as http content, so they work on HTTP/2 streams too
+        ctx.writeAndFlush(new HttpChunkedInput(chunkedStream), promise(this));
       });
       return this;
     } catch (Exception x) {
@@ -586,7 +595,7 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
       DefaultHttpResponse rsp = new DefaultHttpResponse(HTTP_1_1, status, setHeaders);
       responseStarted = true;
 
-      if (isSecure() || isGzip()) {
+      if (!isZeroCopy()) {
         prepareChunked();
 
         HttpChunkedInput chunkedInput = new HttpChunkedInput(
@@ -643,6 +652,25 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     return this;
   }
 
+  private boolean isHttp2() {
+    return ctx.channel() instanceof Http2StreamChannel;
+  }
+
+  /**
+   * True when a file can be written as a {@link DefaultFileRegion} (sendfile): a cleartext
+   * HTTP/1.x connection without compression. Checks the channel pipeline, not the scheme, which
+   * might be set by a proxy.
+   *
+   * @return True when a file can be written as a {@link DefaultFileRegion}.
+   */
+  private boolean isZeroCopy() {
+    return !isHttp2() && ctx.pipeline().get("ssl") == null && !isGzip();
+  }
+
+  void responseStarted() {
+    responseStarted = true;
+  }
+
   @Override public void operationComplete(ChannelFuture future) {
     try {
       fireCompleteEvent();
@@ -721,10 +749,10 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
     release(req);
   }
 
-  private NettyOutputStream newOutputStream() {
+  private NettyOutputStream newOutputStream(boolean fixedLength) {
     prepareChunked();
     return new NettyOutputStream(ctx, bufferSize,
-        new DefaultHttpResponse(req.protocolVersion(), status, setHeaders), this);
+        new DefaultHttpResponse(req.protocolVersion(), status, setHeaders), this, fixedLength);
   }
 
   private FileUpload register(FileUpload upload) {
@@ -781,13 +809,11 @@ public class NettyContext implements DefaultContext, ChannelFutureListener {
   }
 
   private void prepareChunked() {
-    // remove flusher, doesn't play well with streaming/chunked responses
+    // chunker goes right before the handler, so it works with any codec in front of us: http/1.1
+    // encoder, h2c server codec, http/2 stream codec, with or without compressor.
     ChannelPipeline pipeline = ctx.pipeline();
     if (pipeline.get("chunker") == null) {
-      Stream.of("compressor", "encoder")
-          .filter(name -> pipeline.get(name) != null)
-          .findFirst()
-          .ifPresent(name -> pipeline.addAfter(name, "chunker", new ChunkedWriteHandler()));
+      pipeline.addBefore(ctx.name(), "chunker", new ChunkedWriteHandler());
     }
     if (!setHeaders.contains(CONTENT_LENGTH)) {
       setHeaders.set(TRANSFER_ENCODING, CHUNKED);
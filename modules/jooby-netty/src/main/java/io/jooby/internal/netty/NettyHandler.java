@@ -11,6 +11,7 @@ import io.jooby.Server;
 import io.jooby.StatusCode;
 import io.jooby.WebSocketCloseStatus;
 import io.jooby.exception.StatusCodeException;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.HttpContent;
@@ -85,7 +86,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
 
         contentLength = contentLength(req);
         if (contentLength > 0 || HttpUtil.isTransferEncodingChunked(req)) {
-          decoder = newDecoder(req, factory);
+          decoder = newDecoder(req, factory, ctx.alloc(), bufferSize);
         } else {
           router.match(context).execute(context);
         }
@@ -185,7 +186,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
   }
 
   private static InterfaceHttpPostRequestDecoder newDecoder(HttpRequest request,
-      HttpDataFactory factory) {
+      HttpDataFactory factory, ByteBufAllocator alloc, int bufferSize) {
     String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
     if (contentType != null) {
       String lowerContentType = contentType.toLowerCase();
@@ -195,7 +196,7 @@ public class NettyHandler extends ChannelInboundHandlerAdapter {
         return new HttpPostStandardRequestDecoder(factory, request, StandardCharsets.UTF_8);
       }
     }
-    return new HttpRawPostRequestDecoder(factory.createAttribute(request, "body"));
+    return new HttpRawPostRequestDecoder(factory, request, alloc, bufferSize);
   }
 
   static String pathOnly(String uri) {
@@ -5,48 +5,85 @@
  */
 package io.jooby.internal.netty;
 
+import io.jooby.Abortable;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.ClosedChannelException;
 
-public class NettyOutputStream extends OutputStream {
-  private final ByteBuf buffer;
+/**
+ * Output stream backed by a pooled buffer. The buffer is handed off to the channel every time it
+ * gets full (no copy involved) and a new one is allocated.
+ *
+ * When <code>fixedLength</code> is enabled and the whole response fits in the buffer, the
+ * response is sent at close time as a full response with a <code>Content-Length</code> header.
+ *
+ * Writing to an inactive channel (client disconnected) fails with {@link ClosedChannelException}.
+ * When the channel is not writable (the client is reading slower than we produce) a write from a
+ * worker thread blocks until the chunk is flushed, so the response is never buffered in memory.
+ *
+ * The response is marked as started once headers are written. On {@link #abort(Throwable)} the
+ * buffer is released and, if part of the response was already written, the connection is closed.
+ */
+public class NettyOutputStream extends OutputStream implements Abortable {
   private final ChannelHandlerContext ctx;
-  private final ChannelFutureListener closeListener;
+  private final int bufferSize;
+  private final NettyContext context;
+  private final boolean fixedLength;
+  private ByteBuf buffer;
   private HttpResponse headers;
+  private boolean closed;
 
   public NettyOutputStream(ChannelHandlerContext ctx, int bufferSize, HttpResponse headers,
-      ChannelFutureListener closeListener) {
-    this.buffer = ctx.alloc().buffer(0, bufferSize);
+      NettyContext context, boolean fixedLength) {
     this.ctx = ctx;
+    this.bufferSize = bufferSize;
+    this.buffer = ctx.alloc().buffer(0, bufferSize);
     this.headers = headers;
-    this.closeListener = closeListener;
+    this.context = context;
+    this.fixedLength = fixedLength;
+  }
+
+  public NettyOutputStream(ChannelHandlerContext ctx, int bufferSize, HttpResponse headers,
+      NettyContext context) {
+    this(ctx, bufferSize, headers, context, false);
   }
 
   @Override
-  public void write(int b) {
-    writeHeaders();
+  public void write(int b) throws IOException {
+    if (!fixedLength) {
+      writeHeaders();
+    }
 
     if (buffer.maxWritableBytes() < 1) {
-      flush(null, null);
+      flush(null);
     }
     buffer.writeByte(b);
   }
 
   @Override
-  public void write(byte[] src, int off, int len) {
+  public void write(byte[] src, int off, int len) throws IOException {
     write(src, off, len, null);
   }
 
-  public void write(byte[] src, int off, int len, ChannelFutureListener callback) {
-    writeHeaders();
+  public void write(byte[] src, int off, int len, ChannelFutureListener callback)
+      throws IOException {
+    if (!fixedLength) {
+      writeHeaders();
+    }
 
     int dataLengthLeftToWrite = len;
     int dataToWriteOffset = off;
@@ -56,7 +93,7 @@ public class NettyOutputStream extends OutputStream {
       buffer.writeBytes(src, dataToWriteOffset, spaceLeftInCurrentChunk);
       dataToWriteOffset = dataToWriteOffset + spaceLeftInCurrentChunk;
       dataLengthLeftToWrite = dataLengthLeftToWrite - spaceLeftInCurrentChunk;
-      flush(callback, null);
+      flush(callback);
     }
     if (dataLengthLeftToWrite > 0) {
       buffer.writeBytes(src, dataToWriteOffset, dataLengthLeftToWrite);
@@ -65,44 +102,78 @@ public class NettyOutputStream extends OutputStream {
 
   private void writeHeaders() {
     if (headers != null) {
+      context.responseStarted();
       ctx.write(headers, ctx.voidPromise());
       headers = null;
     }
   }
 
   @Override public void flush() throws IOException {
-    flush(null, null);
+    flush(null);
   }
 
-  private void flush(ChannelFutureListener callback, ChannelFutureListener listener) {
-    int chunkSize = buffer.readableBytes();
-    if (chunkSize > 0) {
-      if (listener != null) {
-        if (callback == null) {
-          ctx.write(new DefaultHttpContent(buffer.copy()), ctx.voidPromise());
-        } else {
-          ctx.write(new DefaultHttpContent(buffer.copy())).addListener(callback);
-        }
-        ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(listener);
-        buffer.release();
+  private void flush(ChannelFutureListener callback) throws IOException {
+    writeHeaders();
+    if (buffer.isReadable()) {
+      Channel channel = ctx.channel();
+      if (!channel.isActive()) {
+        throw new ClosedChannelException();
+      }
+      DefaultHttpContent chunk = new DefaultHttpContent(buffer);
+      buffer = ctx.alloc().buffer(0, bufferSize);
+      if (callback != null) {
+        ctx.writeAndFlush(chunk).addListener(callback);
+      } else if (channel.isWritable() || ctx.executor().inEventLoop()) {
+        ctx.writeAndFlush(chunk, ctx.voidPromise());
       } else {
-        if (callback == null) {
-          ctx.write(new DefaultHttpContent(buffer.copy()), ctx.voidPromise());
-        } else {
-          ctx.write(new DefaultHttpContent(buffer.copy())).addListener(callback);
+        ChannelFuture future = ctx.writeAndFlush(chunk).awaitUninterruptibly();
+        if (!future.isSuccess()) {
+          throw new ClosedChannelException();
         }
-        buffer.clear();
-      }
-    } else {
-      ChannelFuture future = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
-      if (listener != null) {
-        future.addListener(listener);
       }
     }
   }
 
   @Override
   public void close() {
-    flush(null, closeListener);
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (headers != null && fixedLength) {
+      HttpHeaders responseHeaders = headers.headers();
+      responseHeaders.remove(HttpHeaderNames.TRANSFER_ENCODING);
+      responseHeaders.set(HttpHeaderNames.CONTENT_LENGTH, buffer.readableBytes());
+      DefaultFullHttpResponse response = new DefaultFullHttpResponse(headers.protocolVersion(),
+          headers.status(), buffer, responseHeaders, EmptyHttpHeaders.INSTANCE);
+      headers = null;
+      context.responseStarted();
+      ctx.writeAndFlush(response).addListener(context);
+    } else {
+      writeHeaders();
+      if (buffer.isReadable()) {
+        ctx.write(new DefaultHttpContent(buffer), ctx.voidPromise());
+      } else {
+        buffer.release();
+      }
+      ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(context);
+    }
+    buffer = null;
+  }
+
+  @Override public void abort(@Nonnull Throwable cause) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    buffer.release();
+    buffer = null;
+    if (headers == null) {
+      // response is on the wire (or queued), it can't be completed
+      ctx.close().addListener(context);
+    } else {
+      // nothing was written, let the error handler send a response
+      headers = null;
+    }
   }
 }
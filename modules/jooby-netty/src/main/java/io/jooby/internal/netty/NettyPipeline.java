@@ -6,13 +6,27 @@
 package io.jooby.internal.netty;
 
 import io.jooby.Router;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
+import io.netty.util.AsciiString;
 
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -29,10 +43,19 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
   private final boolean defaultHeaders;
   private final ScheduledExecutorService service;
   private final SslContext sslContext;
+  private final boolean http2;
 
   public NettyPipeline(ScheduledExecutorService service, Router router, HttpDataFactory factory,
       SslContext sslContext,
       boolean defaultHeaders, Integer compressionLevel, int bufferSize, long maxRequestSize) {
+    this(service, router, factory, sslContext, defaultHeaders, compressionLevel, bufferSize,
+        maxRequestSize, false);
+  }
+
+  public NettyPipeline(ScheduledExecutorService service, Router router, HttpDataFactory factory,
+      SslContext sslContext,
+      boolean defaultHeaders, Integer compressionLevel, int bufferSize, long maxRequestSize,
+      boolean http2) {
     this.service = service;
     this.router = router;
     this.factory = factory;
@@ -41,6 +64,7 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     this.compressionLevel = compressionLevel;
     this.bufferSize = bufferSize;
     this.maxRequestSize = maxRequestSize;
+    this.http2 = http2;
   }
 
   @Override
@@ -48,13 +72,82 @@ public class NettyPipeline extends ChannelInitializer<SocketChannel> {
     ChannelPipeline p = ch.pipeline();
     if (sslContext != null) {
       p.addLast("ssl", sslContext.newHandler(ch.alloc()));
+      if (http2) {
+        // h2 or http/1.1 via ALPN
+        p.addLast("alpn", new Http2OrHttp11());
+        return;
+      }
+    } else if (http2) {
+      // h2c: http/1.1 upgrade or prior knowledge
+      HttpServerCodec codec = new HttpServerCodec(_4KB, _8KB, bufferSize, false);
+      HttpServerUpgradeHandler upgrade = new HttpServerUpgradeHandler(codec, protocol ->
+          AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+              ? new Http2ServerUpgradeCodec(Http2FrameCodecBuilder.forServer().build(),
+              newHttp2Multiplex())
+              : null, (int) Math.min(maxRequestSize, Integer.MAX_VALUE));
+      p.addLast("h2c", new CleartextHttp2ServerUpgradeHandler(codec, upgrade, newHttp2()));
+      http11(p);
+      return;
     }
     p.addLast("decoder", new HttpRequestDecoder(_4KB, _8KB, bufferSize, false));
     p.addLast("encoder", new HttpResponseEncoder());
+    http11(p);
+  }
+
+  private void http11(ChannelPipeline p) {
     if (compressionLevel != null) {
       p.addLast("compressor", new HttpChunkContentCompressor(compressionLevel));
     }
-    p.addLast("handler", new NettyHandler(service, router, maxRequestSize, bufferSize, factory,
-        defaultHeaders));
+    p.addLast("handler", newHandler());
+  }
+
+  private ChannelHandler newHttp2() {
+    return new ChannelInitializer<Channel>() {
+      @Override protected void initChannel(Channel ch) {
+        // h2c prior knowledge: http/1.1 handlers are already in place, so add right after us
+        ChannelPipeline p = ch.pipeline();
+        String name = p.context(this).name();
+        p.addAfter(name, "http2codec", Http2FrameCodecBuilder.forServer().build());
+        p.addAfter("http2codec", "http2", newHttp2Multiplex());
+      }
+    };
+  }
+
+  /**
+   * Each HTTP/2 stream runs on a child channel. Frames are mapped to HTTP/1.x objects so the
+   * {@link NettyHandler} and {@link NettyContext} work unchanged.
+   *
+   * @return Multiplex handler.
+   */
+  private Http2MultiplexHandler newHttp2Multiplex() {
+    return new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+      @Override protected void initChannel(Channel ch) {
+        ChannelPipeline p = ch.pipeline();
+        p.addLast("codec", new Http2StreamFrameToHttpObjectCodec(true, false));
+        http11(p);
+      }
+    });
+  }
+
+  private NettyHandler newHandler() {
+    return new NettyHandler(service, router, maxRequestSize, bufferSize, factory, defaultHeaders);
+  }
+
+  private class Http2OrHttp11 extends ApplicationProtocolNegotiationHandler {
+
+    Http2OrHttp11() {
+      super(ApplicationProtocolNames.HTTP_1_1);
+    }
+
+    @Override protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+      ChannelPipeline p = ctx.pipeline();
+      if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+        p.addLast(newHttp2());
+      } else {
+        p.addLast("decoder", new HttpRequestDecoder(_4KB, _8KB, bufferSize, false));
+        p.addLast("encoder", new HttpResponseEncoder());
+        http11(p);
+      }
+    }
   }
 }
@@ -30,6 +30,13 @@ public class NettySender implements Sender {
     return this;
   }
 
+  @Override public Sender write(@Nonnull byte[] data, int offset, int length,
+      @Nonnull Callback callback) {
+    context.writeAndFlush(new DefaultHttpContent(Unpooled.wrappedBuffer(data, offset, length)))
+        .addListener(newChannelFutureListener(ctx, callback));
+    return this;
+  }
+
   @Override public void close() {
     context.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ctx);
   }
@@ -29,14 +29,14 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 
 public class NettyWebSocket implements WebSocketConfigurer, WebSocket, ChannelFutureListener {
   /** All connected websocket. */
-  private static final ConcurrentMap<String, List<NettyWebSocket>> all = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, Set<NettyWebSocket>> all = new ConcurrentHashMap<>();
 
   static final AttributeKey<NettyWebSocket> WS = AttributeKey
       .newInstance(NettyWebSocket.class.getName());
@@ -67,29 +67,30 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket, ChannelFu
   }
 
   @Override public WebSocket render(Object value, boolean broadcast) {
-    if (broadcast) {
-      for (WebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.render(value, false);
-      }
-    } else {
-      try {
-        Context.websocket(netty, this).render(value);
-      } catch (Throwable x) {
-        handleError(x);
-      }
+    try {
+      // encode once, broadcast (if any) happens at send time
+      Context.websocket(netty, this, broadcast).render(value);
+    } catch (Throwable x) {
+      handleError(x);
     }
     return this;
   }
 
   private WebSocket send(ByteBuf buffer, boolean broadcast) {
     if (broadcast) {
-      for (NettyWebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.send(buffer, false);
+      try {
+        // share the encoded message between all channels
+        for (NettyWebSocket ws : all.getOrDefault(key, Collections.emptySet())) {
+          ws.send(buffer.retainedDuplicate(), false);
+        }
+      } finally {
+        buffer.release();
       }
     } else {
       if (isOpen()) {
         netty.ctx.channel().writeAndFlush(new TextWebSocketFrame(buffer)).addListener(this);
       } else {
+        buffer.release();
         handleError(new IllegalStateException("Attempt to send a message on closed web socket"));
       }
     }
@@ -101,7 +102,7 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket, ChannelFu
   }
 
   @Nonnull @Override public List<WebSocket> getSessions() {
-    List<NettyWebSocket> sessions = all.get(key);
+    Set<NettyWebSocket> sessions = all.get(key);
     if (sessions == null) {
       return Collections.emptyList();
     }
@@ -258,11 +259,11 @@ public class NettyWebSocket implements WebSocketConfigurer, WebSocket, ChannelFu
   }
 
   private void addSession(NettyWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.computeIfAbsent(ws.key, k -> ConcurrentHashMap.newKeySet()).add(ws);
   }
 
   private void removeSession(NettyWebSocket ws) {
-    List<NettyWebSocket> sockets = all.get(ws.key);
+    Set<NettyWebSocket> sockets = all.get(ws.key);
     if (sockets != null) {
       sockets.remove(ws);
     }
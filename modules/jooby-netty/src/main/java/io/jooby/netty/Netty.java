@@ -30,6 +30,7 @@ import io.netty.handler.codec.http.multipart.DiskAttribute;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
 import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
@@ -161,7 +162,8 @@ public class Netty extends Server.Base {
         options.getDefaultHeaders(),
         options.getCompressionLevel(),
         options.getBufferSize(),
-        options.getMaxRequestSize()
+        options.getMaxRequestSize(),
+        options.isHttp2()
     );
   }
 
@@ -183,7 +185,16 @@ public class Netty extends Server.Base {
   }
 
   private SslContext wrap(SSLContext sslContext, ClientAuth clientAuth, String[] protocol) {
+    ApplicationProtocolConfig protocolConfig;
+    if (options.isHttp2()) {
+      protocolConfig = new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+          ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+          ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+          ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1);
+    } else {
+      protocolConfig = ApplicationProtocolConfig.DISABLED;
+    }
     return new JdkSslContext(sslContext, false, null, IdentityCipherSuiteFilter.INSTANCE,
-        ApplicationProtocolConfig.DISABLED, clientAuth, protocol, false);
+        protocolConfig, clientAuth, protocol, false);
   }
 }
@@ -38,8 +38,15 @@ class PebbleTemplateEngine implements TemplateEngine {
 
   @Override
   public String render(Context ctx, ModelAndView modelAndView) throws Exception {
+    StringWriter writer = new StringWriter();
+    render(ctx, modelAndView, writer);
+    return writer.toString();
+  }
+
+  @Override
+  public void render(@Nonnull Context ctx, @Nonnull ModelAndView modelAndView,
+      @Nonnull Writer writer) throws Exception {
     PebbleTemplate template = engine.getTemplate(modelAndView.getView());
-    Writer writer = new StringWriter();
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
     Locale locale = modelAndView.getLocale();
@@ -47,6 +54,5 @@ class PebbleTemplateEngine implements TemplateEngine {
       locale = ctx.locale();
     }
     template.evaluate(writer, model, locale);
-    return writer.toString();
   }
 }
@@ -0,0 +1,109 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.redis;
+
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Local, size bounded copy of recently used sessions. Entries expire after a short time to live
+ * (so a lost invalidation message is eventually fixed) and are invalidated across nodes via
+ * redis pub/sub: every save/delete publishes <code>[node] [sessionId]</code> to the invalidation
+ * channel, nodes (except the publisher) remove the session from their cache.
+ */
+class NearCache {
+
+  static class Entry {
+    final Map<String, String> attributes;
+
+    final Instant creationTime;
+
+    volatile Instant lastAccessedTime;
+
+    final long expiresAt;
+
+    Entry(Map<String, String> attributes, Instant creationTime, Instant lastAccessedTime,
+        long expiresAt) {
+      this.attributes = attributes;
+      this.creationTime = creationTime;
+      this.lastAccessedTime = lastAccessedTime;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final String node = UUID.randomUUID().toString();
+
+  private final String channel;
+
+  private final long ttl;
+
+  private final Map<String, Entry> entries;
+
+  private final LongSupplier clock;
+
+  NearCache(StatefulRedisPubSubConnection<String, String> pubsub, String channel, int maxSize,
+      Duration ttl) {
+    this(pubsub, channel, maxSize, ttl, System::nanoTime);
+  }
+
+  NearCache(StatefulRedisPubSubConnection<String, String> pubsub, String channel, int maxSize,
+      Duration ttl, LongSupplier clock) {
+    this.channel = channel;
+    this.ttl = ttl.toNanos();
+    this.clock = clock;
+    this.entries = new LinkedHashMap<String, Entry>(Math.min(maxSize, 1024), 0.75f, true) {
+      @Override protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+    pubsub.addListener(new RedisPubSubAdapter<String, String>() {
+      @Override public void message(String channel, String message) {
+        if (NearCache.this.channel.equals(channel)) {
+          int sep = message.indexOf(' ');
+          boolean self = sep == node.length() && message.startsWith(node);
+          if (sep > 0 && !self) {
+            invalidate(message.substring(sep + 1));
+          }
+        }
+      }
+    });
+    pubsub.async().subscribe(channel);
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  public String message(String sessionId) {
+    return node + " " + sessionId;
+  }
+
+  public synchronized Entry get(String sessionId) {
+    Entry entry = entries.get(sessionId);
+    if (entry != null && entry.expiresAt - clock.getAsLong() <= 0) {
+      entries.remove(sessionId);
+      return null;
+    }
+    return entry;
+  }
+
+  public synchronized void put(String sessionId, Map<String, String> attributes,
+      Instant creationTime, Instant lastAccessedTime) {
+    entries.put(sessionId,
+        new Entry(attributes, creationTime, lastAccessedTime, clock.getAsLong() + ttl));
+  }
+
+  public synchronized void invalidate(String sessionId) {
+    entries.remove(sessionId);
+  }
+}
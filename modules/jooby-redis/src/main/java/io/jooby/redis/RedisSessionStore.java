@@ -9,9 +9,11 @@ import io.jooby.Context;
 import io.jooby.Session;
 import io.jooby.SessionStore;
 import io.jooby.SessionToken;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.api.StatefulRedisConnection;
 import io.lettuce.core.api.async.RedisAsyncCommands;
-import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,14 +22,27 @@ import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redis session store.
  *
+ * Sessions are loaded with a single round trip: <code>HGETALL</code> and the <code>EXPIRE</code>
+ * (timeout refresh) are pipelined. Saving a modified session only writes the modified attributes,
+ * saving an unmodified session only updates the last accessed time, at most once every
+ * {@link #setTouchInterval(Duration)}.
+ *
+ * Optionally, recently used sessions are kept in a local near-cache (see
+ * {@link #setNearCache(StatefulRedisPubSubConnection, int, Duration)}), invalidated across nodes
+ * via redis pub/sub.
+ *
  * @author edgar
  * @since 2.8.5
  */
@@ -41,7 +56,12 @@ public class RedisSessionStore implements SessionStore {
   private SessionToken token = SessionToken.cookieId(SessionToken.SID);
   private String namespace = "sessions";
   private Duration timeout = Duration.ofMinutes(DEFAULT_TIMEOUT);
+  private Duration touchInterval = Duration.ZERO;
   private StatefulRedisConnection<String, String> connection;
+  private StatefulRedisPubSubConnection<String, String> pubsub;
+  private int nearCacheSize;
+  private Duration nearCacheTtl;
+  private volatile NearCache nearCache;
 
   /**
    * Creates a new session store.
@@ -62,12 +82,17 @@ public class RedisSessionStore implements SessionStore {
   }
 
   /**
-   * Set redis namespace or key prefix.
+   * Set redis namespace or key prefix. The namespace can't be changed once the near-cache is in
+   * use, because the invalidation channel depends on it.
    *
    * @param namespace Redis namespace or key prefix.
    * @return This store.
    */
   public @Nonnull RedisSessionStore setNamespace(@Nonnull String namespace) {
+    if (nearCache != null) {
+      throw new IllegalStateException(
+          "Namespace can't be changed once the near cache is in use: " + this.namespace);
+    }
     this.namespace = namespace;
     return this;
   }
@@ -104,6 +129,69 @@ public class RedisSessionStore implements SessionStore {
     return this;
   }
 
+  /**
+   * Minimum time between two updates of the last accessed time of an unmodified session.
+   *
+   * @return Minimum time between two updates of the last accessed time. Default is:
+   *     <code>0</code> (every request).
+   */
+  public @Nonnull Duration getTouchInterval() {
+    return touchInterval;
+  }
+
+  /**
+   * Set the minimum time between two updates of the last accessed time of an unmodified session.
+   * Session timeout is refreshed on every read, so the interval only affects the precision of
+   * {@link Session#getLastAccessedTime()}. When a near-cache is enabled, reads might not reach
+   * redis, so the interval must be (much) lower than the session timeout.
+   *
+   * @param touchInterval Minimum time between two updates of the last accessed time.
+   * @return This store.
+   */
+  public @Nonnull RedisSessionStore setTouchInterval(@Nonnull Duration touchInterval) {
+    this.touchInterval = touchInterval;
+    return this;
+  }
+
+  /**
+   * Keep recently used sessions in a local cache. Sessions are invalidated across nodes by
+   * publishing a message to the <code>[namespace]:invalidate</code> channel on every save or
+   * delete.
+   *
+   * <pre>{@code
+   * {
+   *   install(new RedisModule());
+   *
+   *   setSessionStore(new RedisSessionStore(require(StatefulRedisConnection.class))
+   *       .setTouchInterval(Duration.ofMinutes(1))
+   *       .setNearCache(require(StatefulRedisPubSubConnection.class), 10_000,
+   *           Duration.ofSeconds(30)));
+   * }
+   * }</pre>
+   *
+   * Cached sessions expire after the given time to live, which bounds how long a lost
+   * invalidation message can leave a stale session around.
+   *
+   * The near-cache is created (and subscribes to the invalidation channel) on first use, so the
+   * channel always follows the final namespace. It can be set only once.
+   *
+   * @param pubsub Pub/sub connection (see {@link RedisModule}).
+   * @param maxSize Max number of sessions to keep in memory.
+   * @param ttl Time to live of cached sessions.
+   * @return This store.
+   */
+  public @Nonnull RedisSessionStore setNearCache(
+      @Nonnull StatefulRedisPubSubConnection<String, String> pubsub,
+      int maxSize, @Nonnull Duration ttl) {
+    if (this.pubsub != null) {
+      throw new IllegalStateException("Near cache is already configured");
+    }
+    this.pubsub = pubsub;
+    this.nearCacheSize = maxSize;
+    this.nearCacheTtl = ttl;
+    return this;
+  }
+
   /**
    * Session token.
    *
@@ -128,13 +216,8 @@ public class RedisSessionStore implements SessionStore {
     String sessionId = token.newToken();
 
     Instant now = Instant.now();
-    String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
 
-    Map<String, String> data = new HashMap<>();
-    data.put(LAST_ACCESSED_AT, isoNow);
-    data.put(CREATED_AT, isoNow);
-
-    saveSession(sessionId, data);
+    saveSession(sessionId, new HashMap<>(), now, now);
 
     token.saveToken(ctx, sessionId);
 
@@ -148,17 +231,35 @@ public class RedisSessionStore implements SessionStore {
     if (sessionId == null) {
       return null;
     }
-    RedisCommands<String, String> commands = connection.sync();
+    NearCache nearCache = nearCache();
+    NearCache.Entry entry = nearCache == null ? null : nearCache.get(sessionId);
+    if (entry != null) {
+      token.saveToken(ctx, sessionId);
+
+      return Session.create(ctx, sessionId, new ConcurrentHashMap<>(entry.attributes))
+          .setCreationTime(entry.creationTime)
+          .setLastAccessedTime(entry.lastAccessedTime);
+    }
+
+    // pipeline read and timeout refresh
+    RedisAsyncCommands<String, String> commands = connection.async();
     String redisId = key(sessionId);
-    Map<String, String> data = commands.hgetall(redisId);
+    RedisFuture<Map<String, String>> hash = commands.hgetall(redisId);
+    if (timeout != null) {
+      commands.expire(redisId, timeout.getSeconds());
+    }
+    Map<String, String> data = LettuceFutures
+        .awaitOrCancel(hash, connection.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
     if (data == null || data.isEmpty()) {
       return null;
     }
-    Optional.ofNullable(timeout).map(Duration::getSeconds)
-        .ifPresent(seconds -> commands.expire(redisId, seconds));
     Instant lastAccessedTime = Instant.parse(data.remove(LAST_ACCESSED_AT));
     Instant createdAt = Instant.parse(data.remove(CREATED_AT));
 
+    if (nearCache != null) {
+      nearCache.put(sessionId, Collections.unmodifiableMap(data), createdAt, lastAccessedTime);
+    }
+
     token.saveToken(ctx, sessionId);
 
     return Session.create(ctx, sessionId, new ConcurrentHashMap<>(data))
@@ -168,33 +269,112 @@ public class RedisSessionStore implements SessionStore {
 
   @Override public void deleteSession(@Nonnull Context ctx, @Nonnull Session session) {
     String sessionId = session.getId();
-    connection.async().del(key(sessionId));
+    RedisAsyncCommands<String, String> commands = connection.async();
+    commands.del(key(sessionId));
+    NearCache nearCache = nearCache();
+    if (nearCache != null) {
+      nearCache.invalidate(sessionId);
+      commands.publish(nearCache.getChannel(), nearCache.message(sessionId));
+    }
 
     token.deleteToken(ctx, sessionId);
   }
 
   @Override public void touchSession(@Nonnull Context ctx, @Nonnull Session session) {
-    saveSession(ctx, session);
+    saveOrTouch(session);
 
     token.saveToken(ctx, session.getId());
   }
 
   @Override public void saveSession(@Nonnull Context ctx, @Nonnull Session session) {
-    saveSession(session.getId(), new HashMap<>(session.toMap()));
+    saveOrTouch(session);
   }
 
   @Override public void renewSessionId(@Nonnull Context ctx, @Nonnull Session session) {
 
   }
 
-  private void saveSession(String sessionId, Map<String, String> data) {
+  /**
+   * Update last accessed time and refresh timeout of an unmodified session, unless it was
+   * touched less than {@link #getTouchInterval()} ago.
+   *
+   * @param session Session.
+   */
+  private void touch(Session session) {
+    Instant now = Instant.now();
+    if (Duration.between(session.getLastAccessedTime(), now).compareTo(touchInterval) < 0) {
+      return;
+    }
+    session.setLastAccessedTime(now);
+    String sessionId = session.getId();
+    String redisId = key(sessionId);
     RedisAsyncCommands<String, String> commands = connection.async();
+    commands.hset(redisId, LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(now))
+        .exceptionally(cause -> {
+          log.error("unable to touch redis session: {}", sessionId, cause);
+          return null;
+        });
+    if (timeout != null) {
+      commands.expire(redisId, timeout.getSeconds());
+    }
+    NearCache nearCache = nearCache();
+    if (nearCache != null) {
+      NearCache.Entry entry = nearCache.get(sessionId);
+      if (entry != null) {
+        entry.lastAccessedTime = now;
+      }
+    }
+  }
 
+  /**
+   * Write modified attributes (see {@link Session#getModifiedAttributes()}) of a modified session
+   * or just touch an unmodified session.
+   *
+   * @param session Session.
+   */
+  private void saveOrTouch(Session session) {
+    if (!session.isModify()) {
+      touch(session);
+      return;
+    }
+    String sessionId = session.getId();
+    Map<String, String> attributes = session.toMap();
+    Map<String, String> changes = new HashMap<>();
+    List<String> removed = new ArrayList<>();
+    for (String name : session.getModifiedAttributes()) {
+      String value = attributes.get(name);
+      if (value == null) {
+        removed.add(name);
+      } else {
+        changes.put(name, value);
+      }
+    }
+    if (removed.size() > 0) {
+      connection.async().hdel(key(sessionId), removed.toArray(new String[removed.size()]));
+    }
     Instant now = Instant.now();
-    String isoNow = DateTimeFormatter.ISO_INSTANT.format(now);
+    saveSession(sessionId, changes, session.getCreationTime(), now);
+    session.setLastAccessedTime(now).setModify(false);
+
+    NearCache nearCache = nearCache();
+    if (nearCache != null) {
+      nearCache.put(sessionId, Collections.unmodifiableMap(new HashMap<>(attributes)),
+          session.getCreationTime(), now);
+      connection.async().publish(nearCache.getChannel(), nearCache.message(sessionId));
+    }
+  }
 
-    data.put(LAST_ACCESSED_AT, isoNow);
-    data.put(CREATED_AT, isoNow);
+  /**
+   * Write the given attributes plus session metadata. Existing attributes not present in the map
+   * are kept.
+   */
+  private void saveSession(String sessionId, Map<String, String> data, Instant creationTime,
+      Instant lastAccessedTime) {
+    RedisAsyncCommands<String, String> commands = connection.async();
+
+    data.put(LAST_ACCESSED_AT, DateTimeFormatter.ISO_INSTANT.format(lastAccessedTime));
+    // always write it, in case the hash expired in between
+    data.put(CREATED_AT, DateTimeFormatter.ISO_INSTANT.format(creationTime));
 
     String redisId = key(sessionId);
     commands.hmset(redisId, data).handle((value, cause) -> {
@@ -209,6 +389,21 @@ public class RedisSessionStore implements SessionStore {
     });
   }
 
+  private @Nullable NearCache nearCache() {
+    NearCache nearCache = this.nearCache;
+    if (nearCache == null && pubsub != null) {
+      synchronized (this) {
+        nearCache = this.nearCache;
+        if (nearCache == null) {
+          nearCache = new NearCache(pubsub, namespace + ":invalidate", nearCacheSize,
+              nearCacheTtl);
+          this.nearCache = nearCache;
+        }
+      }
+    }
+    return nearCache;
+  }
+
   private String key(String id) {
     return namespace + ":" + id;
   }
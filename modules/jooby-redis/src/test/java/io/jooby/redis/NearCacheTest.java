@@ -0,0 +1,132 @@
+package io.jooby.redis;
+
+import io.lettuce.core.pubsub.RedisPubSubListener;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.pubsub.api.async.RedisPubSubAsyncCommands;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NearCacheTest {
+
+  private static final String CHANNEL = "sessions:invalidate";
+
+  private static final Instant NOW = Instant.now();
+
+  @Test
+  public void subscribe() {
+    StatefulRedisPubSubConnection<String, String> pubsub = pubsub();
+
+    NearCache cache = new NearCache(pubsub, CHANNEL, 10, Duration.ofMinutes(1));
+
+    assertEquals(CHANNEL, cache.getChannel());
+    verify(pubsub.async()).subscribe(CHANNEL);
+  }
+
+  @Test
+  public void lruBound() {
+    NearCache cache = new NearCache(pubsub(), CHANNEL, 2, Duration.ofMinutes(1));
+
+    put(cache, "a");
+    put(cache, "b");
+    // touch a, so b is the eldest one
+    assertNotNull(cache.get("a"));
+    put(cache, "c");
+
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+  }
+
+  @Test
+  public void ttl() {
+    AtomicLong clock = new AtomicLong();
+    NearCache cache = new NearCache(pubsub(), CHANNEL, 10, Duration.ofSeconds(5), clock::get);
+
+    put(cache, "a");
+
+    clock.set(Duration.ofSeconds(5).toNanos() - 1);
+    assertNotNull(cache.get("a"));
+
+    clock.set(Duration.ofSeconds(5).toNanos());
+    assertNull(cache.get("a"));
+    // put resets the time to live
+    put(cache, "a");
+    clock.set(Duration.ofSeconds(9).toNanos());
+    assertNotNull(cache.get("a"));
+  }
+
+  @Test
+  public void invalidateOnMessage() {
+    StatefulRedisPubSubConnection<String, String> pubsub = pubsub();
+    NearCache cache = new NearCache(pubsub, CHANNEL, 10, Duration.ofMinutes(1));
+    RedisPubSubListener<String, String> listener = listener(pubsub);
+
+    put(cache, "a");
+    put(cache, "b");
+
+    listener.message(CHANNEL, "other-node a");
+
+    assertNull(cache.get("a"));
+    assertNotNull(cache.get("b"));
+  }
+
+  @Test
+  public void ignoreOwnInvalidations() {
+    StatefulRedisPubSubConnection<String, String> pubsub = pubsub();
+    NearCache cache = new NearCache(pubsub, CHANNEL, 10, Duration.ofMinutes(1));
+    RedisPubSubListener<String, String> listener = listener(pubsub);
+
+    put(cache, "a");
+
+    listener.message(CHANNEL, cache.message("a"));
+
+    assertNotNull(cache.get("a"));
+  }
+
+  @Test
+  public void ignoreOtherChannelsAndBadMessages() {
+    StatefulRedisPubSubConnection<String, String> pubsub = pubsub();
+    NearCache cache = new NearCache(pubsub, CHANNEL, 10, Duration.ofMinutes(1));
+    RedisPubSubListener<String, String> listener = listener(pubsub);
+
+    put(cache, "a");
+
+    listener.message("other:invalidate", "other-node a");
+    listener.message(CHANNEL, "a");
+
+    assertNotNull(cache.get("a"));
+  }
+
+  private static void put(NearCache cache, String sessionId) {
+    cache.put(sessionId, Collections.singletonMap("id", sessionId), NOW, NOW);
+  }
+
+  @SuppressWarnings("unchecked")
+  static StatefulRedisPubSubConnection<String, String> pubsub() {
+    StatefulRedisPubSubConnection<String, String> pubsub = mock(
+        StatefulRedisPubSubConnection.class);
+    when(pubsub.async()).thenReturn(mock(RedisPubSubAsyncCommands.class));
+    return pubsub;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RedisPubSubListener<String, String> listener(
+      StatefulRedisPubSubConnection<String, String> pubsub) {
+    ArgumentCaptor<RedisPubSubListener> listener = ArgumentCaptor
+        .forClass(RedisPubSubListener.class);
+    verify(pubsub).addListener(listener.capture());
+    return listener.getValue();
+  }
+}
@@ -0,0 +1,62 @@
+package io.jooby.redis;
+
+import io.jooby.Context;
+import io.jooby.Session;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class RedisSessionStoreTest {
+
+  @Test
+  public void nearCacheFollowsNamespace() {
+    StatefulRedisConnection<String, String> connection = connection();
+    StatefulRedisPubSubConnection<String, String> pubsub = NearCacheTest.pubsub();
+
+    RedisSessionStore store = new RedisSessionStore(connection)
+        .setNearCache(pubsub, 10, Duration.ofMinutes(1))
+        .setNamespace("app");
+    // nothing subscribed until first use
+    verifyNoInteractions(pubsub);
+
+    store.deleteSession(mock(Context.class), session("sid"));
+
+    verify(pubsub.async()).subscribe("app:invalidate");
+    verify(connection.async()).publish(eq("app:invalidate"), any());
+
+    assertThrows(IllegalStateException.class, () -> store.setNamespace("other"));
+  }
+
+  @Test
+  public void nearCacheCanBeSetOnce() {
+    RedisSessionStore store = new RedisSessionStore(connection())
+        .setNearCache(NearCacheTest.pubsub(), 10, Duration.ofMinutes(1));
+
+    assertThrows(IllegalStateException.class,
+        () -> store.setNearCache(NearCacheTest.pubsub(), 10, Duration.ofMinutes(1)));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static StatefulRedisConnection<String, String> connection() {
+    StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+    when(connection.async()).thenReturn(mock(RedisAsyncCommands.class));
+    return connection;
+  }
+
+  private static Session session(String id) {
+    Session session = mock(Session.class);
+    when(session.getId()).thenReturn(id);
+    return session;
+  }
+}
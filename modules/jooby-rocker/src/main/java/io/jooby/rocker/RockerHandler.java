@@ -6,7 +6,6 @@
 package io.jooby.rocker;
 
 import com.fizzed.rocker.RockerModel;
-import com.fizzed.rocker.runtime.StringBuilderOutput;
 import io.jooby.Context;
 import io.jooby.MediaType;
 import io.jooby.Route;
@@ -24,8 +23,7 @@ class RockerHandler implements Route.Handler {
     try {
       RockerModel template = (RockerModel) next.apply(ctx);
       ctx.setResponseType(MediaType.html);
-      ctx.send(template.render(StringBuilderOutput.FACTORY).toString());
-      return ctx;
+      return RockerMessageEncoder.send(ctx, template);
     } catch (Throwable x) {
       ctx.sendError(x);
       return x;
@@ -12,6 +12,8 @@ import io.jooby.MediaType;
 import io.jooby.MessageEncoder;
 
 import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 class RockerMessageEncoder implements MessageEncoder {
   @Override public byte[] encode(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
@@ -24,4 +26,33 @@ class RockerMessageEncoder implements MessageEncoder {
     }
     return null;
   }
+
+  @Override public boolean send(@Nonnull Context ctx, @Nonnull Object value) throws Exception {
+    if (value instanceof RockerModel) {
+      ctx.setDefaultResponseType(MediaType.html);
+      send(ctx, (RockerModel) value);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Render a template and send the output chunks as a single gathering write. Static template
+   * content is pre-encoded by Rocker, so these chunks are sent as they are, without copying them
+   * into a String or a single byte array.
+   *
+   * @param ctx Web context.
+   * @param template Template.
+   * @return Web context.
+   */
+  static Context send(Context ctx, RockerModel template) {
+    ArrayOfByteArraysOutput output = template.render(ArrayOfByteArraysOutput.FACTORY);
+    List<byte[]> arrays = output.getArrays();
+    ByteBuffer[] buffers = new ByteBuffer[arrays.size()];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = ByteBuffer.wrap(arrays.get(i));
+    }
+    ctx.setResponseLength(output.getByteLength());
+    return ctx.send(buffers);
+  }
 }
@@ -10,6 +10,7 @@ import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 import javax.annotation.Nonnull;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +32,15 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
   }
 
   @Override public String render(io.jooby.Context ctx, ModelAndView modelAndView) {
+    return templateEngine.process(templateName(modelAndView), context(ctx, modelAndView));
+  }
+
+  @Override public void render(@Nonnull io.jooby.Context ctx, @Nonnull ModelAndView modelAndView,
+      @Nonnull Writer writer) {
+    templateEngine.process(templateName(modelAndView), context(ctx, modelAndView), writer);
+  }
+
+  private Context context(io.jooby.Context ctx, ModelAndView modelAndView) {
     Map<String, Object> model = new HashMap<>(ctx.getAttributes());
     model.putAll(modelAndView.getModel());
 
@@ -40,11 +50,14 @@ public class ThymeleafTemplateEngine implements io.jooby.TemplateEngine {
       locale = ctx.locale();
     }
 
-    Context context = new Context(locale, model);
+    return new Context(locale, model);
+  }
+
+  private String templateName(ModelAndView modelAndView) {
     String templateName = modelAndView.getView();
     if (!templateName.startsWith("/")) {
       templateName = "/" + templateName;
     }
-    return templateEngine.process(templateName, context);
+    return templateName;
   }
 }
@@ -366,9 +366,9 @@ public class UtowContext implements DefaultContext, IoCallback {
   @Nonnull @Override public OutputStream responseStream() {
     ifStartBlocking();
 
-    ifSetChunked();
-
-    return exchange.getOutputStream();
+    // Chunked is set by undertow once the output buffer overflows, otherwise the response is sent
+    // with a content-length header.
+    return new UtowOutputStream(exchange);
   }
 
   @Nonnull @Override public io.jooby.Sender responseSender() {
@@ -449,8 +449,7 @@ public class UtowContext implements DefaultContext, IoCallback {
       ByteRange range = ByteRange
           .parse(exchange.getRequestHeaders().getFirst(RANGE), len)
           .apply(this);
-      file.position(range.getStart());
-      new UtowChunkedStream(range.getEnd()).send(file, exchange, this);
+      new UtowFileTransfer(file, range.getStart(), range.getEnd()).send(exchange, this);
       return this;
     } catch (IOException x) {
       throw SneakyThrows.propagate(x);
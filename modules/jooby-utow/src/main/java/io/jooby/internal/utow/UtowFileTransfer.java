@@ -0,0 +1,90 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.utow;
+
+import io.undertow.io.IoCallback;
+import io.undertow.server.HttpServerExchange;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Send a region of a file using {@link StreamSinkChannel#transferFrom(FileChannel, long, long)}.
+ * On cleartext connections this turns into a <code>sendfile</code> call, so file bytes never
+ * reach user space.
+ *
+ * Unlike {@link io.undertow.io.Sender#transferFrom(FileChannel, IoCallback)} (which always sends
+ * up to the end of the file), it honors the region bounds, so it works for byte range requests.
+ */
+public class UtowFileTransfer implements ChannelListener<StreamSinkChannel> {
+
+  private final FileChannel file;
+
+  private long position;
+
+  private long remaining;
+
+  private HttpServerExchange exchange;
+
+  private IoCallback callback;
+
+  private boolean headers;
+
+  public UtowFileTransfer(FileChannel file, long position, long count) {
+    this.file = file;
+    this.position = position;
+    this.remaining = count;
+  }
+
+  public void send(HttpServerExchange exchange, IoCallback callback) {
+    this.exchange = exchange;
+    this.callback = callback;
+    handleEvent(exchange.getResponseChannel());
+  }
+
+  @Override public void handleEvent(StreamSinkChannel channel) {
+    try {
+      if (!headers) {
+        // While response headers are pending, the response conduit copies a full buffer from the
+        // current file position (ignoring position and count). Write headers first, so the file
+        // region goes straight to the connection.
+        if (!channel.flush()) {
+          channel.getWriteSetter().set(this);
+          channel.resumeWrites();
+          return;
+        }
+        headers = true;
+      }
+      while (remaining > 0) {
+        long count = channel.transferFrom(file, position, remaining);
+        if (count == 0) {
+          if (position >= file.size()) {
+            throw new EOFException("Unexpected end of file: " + position);
+          }
+          // socket buffer is full, wait until it is writable
+          channel.getWriteSetter().set(this);
+          channel.resumeWrites();
+          return;
+        }
+        position += count;
+        remaining -= count;
+      }
+      channel.suspendWrites();
+      channel.getWriteSetter().set(null);
+      IoUtils.safeClose(file);
+      callback.onComplete(exchange, exchange.getResponseSender());
+    } catch (IOException x) {
+      channel.suspendWrites();
+      channel.getWriteSetter().set(null);
+      IoUtils.safeClose(file);
+      callback.onException(exchange, exchange.getResponseSender(), x);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/**
+ * Jooby https://jooby.io
+ * Apache License Version 2.0 https://jooby.io/LICENSE.txt
+ * Copyright 2014 Edgar Espina
+ */
+package io.jooby.internal.utow;
+
+import io.jooby.Abortable;
+import io.undertow.io.UndertowOutputStream;
+import io.undertow.server.HttpServerExchange;
+import org.xnio.IoUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class UtowOutputStream extends OutputStream implements Abortable {
+
+  private final HttpServerExchange exchange;
+
+  private final OutputStream out;
+
+  private boolean closed;
+
+  public UtowOutputStream(HttpServerExchange exchange) {
+    this.exchange = exchange;
+    this.out = exchange.getOutputStream();
+  }
+
+  @Override public void write(int b) throws IOException {
+    out.write(b);
+  }
+
+  @Override public void write(byte[] b) throws IOException {
+    out.write(b);
+  }
+
+  @Override public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+  }
+
+  @Override public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override public void close() throws IOException {
+    closed = true;
+    out.close();
+  }
+
+  @Override public void abort(@Nonnull Throwable cause) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (exchange.isResponseStarted()) {
+      // part of the response was sent, it can't be completed
+      IoUtils.safeClose(exchange.getConnection());
+    } else if (out instanceof UndertowOutputStream) {
+      // nothing was sent, let the error handler send a response
+      ((UndertowOutputStream) out).resetBuffer();
+    }
+  }
+}
@@ -27,6 +27,13 @@ public class UtowSender implements Sender {
     return this;
   }
 
+  @Override public Sender write(@Nonnull byte[] data, int offset, int length,
+      @Nonnull Callback callback) {
+    exchange.getResponseSender()
+        .send(ByteBuffer.wrap(data, offset, length), newIoCallback(ctx, callback));
+    return this;
+  }
+
   @Override public void close() {
     ctx.destroy(null);
   }
@@ -27,9 +27,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -37,7 +37,7 @@ public class UtowWebSocket extends AbstractReceiveListener
     implements WebSocketConfigurer, WebSocket, WebSocketCallback<Void> {
 
   /** All connected websocket. */
-  private static final ConcurrentMap<String, List<WebSocket>> all = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<String, Set<UtowWebSocket>> all = new ConcurrentHashMap<>();
 
   private final UtowContext ctx;
   private final WebSocketChannel channel;
@@ -69,7 +69,7 @@ public class UtowWebSocket extends AbstractReceiveListener
   }
 
   @Nonnull @Override public List<WebSocket> getSessions() {
-    List<WebSocket> sessions = all.get(key);
+    Set<UtowWebSocket> sessions = all.get(key);
     if (sessions == null) {
       return Collections.emptyList();
     }
@@ -87,14 +87,19 @@ public class UtowWebSocket extends AbstractReceiveListener
   }
 
   @Nonnull @Override public WebSocket send(@Nonnull byte[] message, boolean broadcast) {
+    return send(ByteBuffer.wrap(message), broadcast);
+  }
+
+  private WebSocket send(ByteBuffer message, boolean broadcast) {
     if (broadcast) {
-      for (WebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.send(message, false);
+      // share the encoded message between all channels
+      for (UtowWebSocket ws : all.getOrDefault(key, Collections.emptySet())) {
+        ws.send(message.duplicate(), false);
       }
     } else {
       if (isOpen()) {
         try {
-          WebSockets.sendText(ByteBuffer.wrap(message), channel, this);
+          WebSockets.sendText(message, channel, this);
         } catch (Throwable x) {
           onError(channel, x);
         }
@@ -107,16 +112,11 @@ public class UtowWebSocket extends AbstractReceiveListener
   }
 
   @Nonnull @Override public WebSocket render(@Nonnull Object value, boolean broadcast) {
-    if (broadcast) {
-      for (WebSocket ws : all.getOrDefault(key, Collections.emptyList())) {
-        ws.render(value, false);
-      }
-    } else {
-      try {
-        Context.websocket(ctx, this).render(value);
-      } catch (Throwable x) {
-        onError(channel, x);
-      }
+    try {
+      // encode once, broadcast (if any) happens at send time
+      Context.websocket(ctx, this, broadcast).render(value);
+    } catch (Throwable x) {
+      onError(channel, x);
     }
     return this;
   }
@@ -232,11 +232,11 @@ public class UtowWebSocket extends AbstractReceiveListener
   }
 
   private void addSession(UtowWebSocket ws) {
-    all.computeIfAbsent(ws.key, k -> new CopyOnWriteArrayList<>()).add(ws);
+    all.computeIfAbsent(ws.key, k -> ConcurrentHashMap.newKeySet()).add(ws);
   }
 
   private void removeSession(UtowWebSocket ws) {
-    List<WebSocket> sockets = all.get(ws.key);
+    Set<UtowWebSocket> sockets = all.get(ws.key);
     if (sockets != null) {
       sockets.remove(ws);
     }
@@ -93,6 +93,8 @@ public class Utow extends Server.Base {
           .setServerOption(UndertowOptions.ALWAYS_SET_DATE, options.getDefaultHeaders())
           .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, false)
           .setServerOption(UndertowOptions.DECODE_URL, false)
+          // h2 via ALPN on https, h2c upgrade/prior knowledge on http
+          .setServerOption(UndertowOptions.ENABLE_HTTP2, options.isHttp2())
           /** Worker: */
           .setIoThreads(options.getIoThreads())
           .setWorkerOption(Options.WORKER_NAME, "worker")
@@ -16,6 +16,7 @@ import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.DisplayName;
 import reactor.core.publisher.Flux;
@@ -30,17 +31,20 @@ import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -53,9 +57,12 @@ import java.util.Scanner;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
@@ -67,8 +74,10 @@ import static io.jooby.MediaType.xml;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static okhttp3.RequestBody.create;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static reactor.core.scheduler.Schedulers.elastic;
 
@@ -109,6 +118,12 @@ public class FeaturedTest {
     }
   }
 
+  public static class BrokenBean {
+    public String getValue() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
   @ServerTest
   public void sayHi(ServerTestRunner runner) {
     runner.define(app -> {
@@ -744,6 +759,80 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void streamingEncoder(ServerTestRunner runner) {
+    List<String> small = Arrays.asList("a", "b", "c");
+    List<String> large = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      large.add("item-" + i);
+    }
+    String largeJson = large.stream().collect(Collectors.joining("\",\"", "[\"", "\"]"));
+    runner.define(app -> {
+      app.install(new JacksonModule());
+
+      app.get("/small", ctx -> small);
+
+      app.get("/large", ctx -> large);
+    }).ready(client -> {
+      client.get("/small", rsp -> {
+        assertEquals("application/json;charset=utf-8", rsp.header("content-type").toLowerCase());
+        assertEquals("13", rsp.header("content-length"));
+        assertNull(rsp.header("transfer-encoding"));
+        assertEquals("[\"a\",\"b\",\"c\"]", rsp.body().string());
+      });
+
+      client.get("/large", rsp -> {
+        assertEquals("chunked", rsp.header("transfer-encoding").toLowerCase());
+        assertEquals(largeJson, rsp.body().string());
+      });
+    });
+  }
+
+  @ServerTest
+  public void rawBody(ServerTestRunner runner) {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      large.append(i).append(',');
+    }
+    runner.define(app -> {
+      app.post("/body/bytes", ctx -> {
+        Body body = ctx.body();
+        java.nio.ByteBuffer buffer = body.byteBuffer();
+        return body.getSize() + ":" + buffer.remaining() + ":" + StandardCharsets.UTF_8
+            .decode(buffer);
+      });
+
+      app.post("/body/stream", ctx -> {
+        try (InputStream in = ctx.body().stream()) {
+          return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+      });
+    }).ready(client -> {
+      client.post("/body/bytes", RequestBody.create("{\"x\":1}", MediaType.get("application/json")),
+          rsp -> {
+            assertEquals("7:7:{\"x\":1}", rsp.body().string());
+          });
+
+      client.post("/body/stream", RequestBody.create("small", MediaType.get("text/plain")),
+          rsp -> {
+            assertEquals("small", rsp.body().string());
+          });
+
+      client.post("/body/stream",
+          RequestBody.create(large.toString(), MediaType.get("application/octet-stream")),
+          rsp -> {
+            assertEquals(large.toString(), rsp.body().string());
+          });
+
+      client.post("/body/bytes",
+          RequestBody.create(large.toString(), MediaType.get("application/octet-stream")),
+          rsp -> {
+            int len = large.length();
+            assertEquals(len + ":" + len + ":" + large, rsp.body().string());
+          });
+    });
+  }
+
   @ServerTest
   public void jsonVsRawOutput(ServerTestRunner runner) {
     runner.define(app -> {
@@ -1053,6 +1142,140 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void abortJsonResponseOnFailure(ServerTestRunner runner) {
+    runner.define(app -> {
+      app.install(new JacksonModule());
+
+      app.get("/broken", ctx -> new BrokenBean());
+
+      app.get("/broken/large", ctx -> {
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+          values.add(mapOf("id", String.valueOf(i)));
+        }
+        values.add(new BrokenBean());
+        return values;
+      });
+    }).ready(client -> {
+      // nothing sent yet: error response
+      client.get("/broken", rsp -> {
+        assertEquals(500, rsp.code());
+        assertTrue(rsp.body().string().contains("broken"));
+      });
+      // overflow: chunks are on the wire, connection is closed
+      client.get("/broken/large", rsp -> {
+        assertEquals(200, rsp.code());
+        assertThrows(IOException.class, () -> rsp.body().string());
+      });
+    });
+  }
+
+  @ServerTest
+  public void streamResponseHandler(ServerTestRunner runner) {
+    AtomicInteger closed = new AtomicInteger();
+    runner.define(app -> {
+      app.install(new JacksonModule());
+      app.responseHandler(StreamResponseHandler.json());
+
+      app.get("/stream", ctx -> IntStream.range(0, 3)
+          .mapToObj(i -> mapOf("id", String.valueOf(i)))
+          .onClose(closed::incrementAndGet));
+
+      app.get("/stream/empty", ctx -> Stream.empty());
+
+      app.get("/stream/large", ctx -> IntStream.range(0, 5000).boxed());
+
+      app.get("/iterator", ctx -> Arrays.asList(mapOf("a", "1"), mapOf("b", "2")).iterator());
+
+      // collections are not streamed
+      app.get("/list", ctx -> Arrays.asList("a", "b"));
+    }).ready(client -> {
+      client.get("/stream", rsp -> {
+        assertEquals("application/json;charset=utf-8",
+            rsp.header("content-type").toLowerCase());
+        assertEquals("[{\"id\":\"0\"},{\"id\":\"1\"},{\"id\":\"2\"}]", rsp.body().string());
+        assertEquals(1, closed.getAndSet(0));
+      });
+      client.get("/stream/empty", rsp -> {
+        assertEquals("[]", rsp.body().string());
+      });
+      client.get("/stream/large", rsp -> {
+        assertEquals("chunked", rsp.header("transfer-encoding").toLowerCase());
+        assertEquals(IntStream.range(0, 5000).boxed().map(Object::toString)
+            .collect(Collectors.joining(",", "[", "]")), rsp.body().string());
+      });
+      client.get("/iterator", rsp -> {
+        assertEquals("[{\"a\":\"1\"},{\"b\":\"2\"}]", rsp.body().string());
+      });
+      client.get("/list", rsp -> {
+        assertEquals("[\"a\",\"b\"]", rsp.body().string());
+        assertEquals("9", rsp.header("content-length"));
+      });
+    });
+  }
+
+  @ServerTest
+  public void streamResponseHandlerFailure(ServerTestRunner runner) {
+    int size = 100_000;
+    AtomicInteger produced = new AtomicInteger();
+    CountDownLatch closed = new CountDownLatch(2);
+    runner.define(app -> {
+      app.install(new JacksonModule());
+      app.responseHandler(StreamResponseHandler.json());
+
+      app.get("/stream/broken", ctx -> IntStream.range(0, size).boxed()
+          .peek(i -> {
+            if (i == size / 2) {
+              throw new IllegalStateException("intentional error");
+            }
+          })
+          .onClose(closed::countDown));
+
+      app.get("/stream/disconnect", ctx -> IntStream.range(0, size * 100).boxed()
+          .peek(i -> produced.incrementAndGet())
+          .onClose(closed::countDown));
+
+      app.get("/stream", ctx -> Stream.of(1, 2, 3));
+    }).ready(client -> {
+      // failure after output was sent: response is aborted, source is closed
+      client.get("/stream/broken", rsp -> {
+        assertEquals(200, rsp.code());
+        assertThrows(IOException.class, () -> rsp.body().string());
+      });
+      // client goes away: iteration stops, source is closed
+      client.get("/stream/disconnect", rsp -> {
+        assertEquals(200, rsp.code());
+        rsp.body().source().require(1024);
+      });
+      assertTrue(closed.await(10, TimeUnit.SECONDS));
+      assertTrue(produced.get() < size * 100);
+      // connection is still usable
+      client.get("/stream", rsp -> {
+        assertEquals("[1,2,3]", rsp.body().string());
+      });
+    });
+  }
+
+  @ServerTest
+  public void ndjsonResponseHandler(ServerTestRunner runner) {
+    runner.define(app -> {
+      JacksonModule jackson = new JacksonModule();
+      app.install(jackson);
+      app.responseHandler(StreamResponseHandler.ndjson(jackson));
+
+      app.get("/ndjson", ctx -> IntStream.range(0, 3)
+          .mapToObj(i -> mapOf("id", String.valueOf(i))));
+    }).ready(client -> {
+      client.header("Accept", io.jooby.MediaType.NDJSON);
+      client.get("/ndjson", rsp -> {
+        assertEquals("application/x-ndjson;charset=utf-8",
+            rsp.header("content-type").toLowerCase());
+        assertEquals("{\"id\":\"0\"}\n{\"id\":\"1\"}\n{\"id\":\"2\"}\n", rsp.body().string());
+      });
+    });
+  }
+
   @ServerTest
   public void reactor(ServerTestRunner runner) {
     runner.define(app -> {
@@ -1078,6 +1301,42 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void reactiveStreamBatching(ServerTestRunner runner) {
+    String expected = IntStream.rangeClosed(1, 5000)
+        .mapToObj(Integer::toString)
+        .collect(Collectors.joining(",", "[", "]"));
+    runner.define(app -> {
+      app.install(new JacksonModule());
+
+      app.get("/reactor/json", ctx -> Flux.range(1, 5000).subscribeOn(elastic()))
+          .produces(io.jooby.MediaType.json);
+
+      app.get("/rx/json", ctx -> Flowable.range(1, 5000).observeOn(Schedulers.computation()))
+          .produces(io.jooby.MediaType.json);
+
+      app.get("/rx/observable/json", ctx -> Observable.range(1, 5000))
+          .produces(io.jooby.MediaType.json);
+
+      app.get("/rx/empty", ctx -> Flowable.empty())
+          .produces(io.jooby.MediaType.json);
+    }).ready(client -> {
+      client.get("/reactor/json", rsp -> {
+        assertEquals("chunked", rsp.header("transfer-encoding").toLowerCase());
+        assertEquals(expected, rsp.body().string());
+      });
+      client.get("/rx/json", rsp -> {
+        assertEquals(expected, rsp.body().string());
+      });
+      client.get("/rx/observable/json", rsp -> {
+        assertEquals(expected, rsp.body().string());
+      });
+      client.get("/rx/empty", rsp -> {
+        assertEquals("", rsp.body().string());
+      });
+    });
+  }
+
   @ServerTest
   public void completableFuture(ServerTestRunner runner) {
     runner.define(app -> {
@@ -1647,6 +1906,44 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void sendFileRegion(ServerTestRunner runner) {
+    runner.define(app -> {
+      app.assets("/files/?*", userdir("src", "test", "resources", "files"));
+      app.get("/download", ctx ->
+          new AttachedFile(userdir("src", "test", "resources", "files", "19kb.txt"))
+      );
+      app.get("/channel", ctx ->
+          FileChannel.open(userdir("src", "test", "resources", "files", "19kb.txt"))
+      );
+    }).ready(client -> {
+      for (String path : Arrays.asList("/files/19kb.txt", "/download", "/channel")) {
+        client.get(path, rsp -> {
+          assertEquals(200, rsp.code());
+          assertEquals(null, rsp.header("transfer-encoding"));
+          assertEquals(Integer.toString(_19kb.length()), rsp.header("content-length"));
+          assertEquals(_19kb, rsp.body().string());
+        });
+
+        // region in the middle of the file
+        client.header("Range", "bytes=100-8291");
+        client.get(path, rsp -> {
+          assertEquals(206, rsp.code());
+          assertEquals("bytes 100-8291/" + _19kb.length(), rsp.header("content-range"));
+          assertEquals("8192", rsp.header("content-length"));
+          assertEquals(_19kb.substring(100, 8292), rsp.body().string());
+        });
+
+        client.header("Range", "bytes=-100");
+        client.get(path, rsp -> {
+          assertEquals(206, rsp.code());
+          assertEquals("100", rsp.header("content-length"));
+          assertEquals(_19kb.substring(_19kb.length() - 100), rsp.body().string());
+        });
+      }
+    });
+  }
+
   @ServerTest
   public void writer(ServerTestRunner runner) {
     runner.define(app -> {
@@ -2067,6 +2364,100 @@ public class FeaturedTest {
     });
   }
 
+  @ServerTest
+  public void staticAssetsMemoryCache(ServerTestRunner runner) throws IOException {
+    Path www = Files.createTempDirectory("www");
+    try {
+      String js = String.join("\n", Collections.nCopies(200, "console.log('memory cache');"));
+      Files.write(www.resolve("app.js"), js.getBytes(StandardCharsets.UTF_8));
+      Files.write(www.resolve("logo.svg"), js.getBytes(StandardCharsets.UTF_8));
+      Files.write(www.resolve("logo.svg.br"), "brotli".getBytes(StandardCharsets.UTF_8));
+      AssetSource source = AssetSource.create(www);
+
+      runner.define(app -> {
+        app.assets("/www/?*", new AssetHandler(source).setCacheSize(1024 * 1024));
+      }).ready(client -> {
+        String[] etag = new String[2];
+        client.header("Accept-Encoding", "identity");
+        client.get("/www/app.js", rsp -> {
+          assertNull(rsp.header("Content-Encoding"));
+          assertEquals("Accept-Encoding", rsp.header("Vary"));
+          etag[0] = rsp.header("ETag");
+          assertNotNull(etag[0]);
+          assertEquals(js, rsp.body().string());
+        });
+
+        client.header("Accept-Encoding", "gzip, deflate");
+        client.get("/www/app.js", rsp -> {
+          assertEquals("gzip", rsp.header("Content-Encoding"));
+          etag[1] = rsp.header("ETag");
+          assertNotNull(etag[1]);
+          assertNotEquals(etag[0], etag[1]);
+          try (InputStream in = new GZIPInputStream(rsp.body().byteStream())) {
+            assertEquals(js, IOUtils.toString(in, StandardCharsets.UTF_8));
+          }
+        });
+
+        client.header("Accept-Encoding", "gzip");
+        client.header("If-None-Match", etag[1]);
+        client.get("/www/app.js", rsp -> {
+          assertEquals(304, rsp.code());
+        });
+
+        // identity e-tag doesn't match the gzip variant
+        client.header("Accept-Encoding", "gzip");
+        client.header("If-None-Match", etag[0]);
+        client.get("/www/app.js", rsp -> {
+          assertEquals(200, rsp.code());
+          assertEquals("gzip", rsp.header("Content-Encoding"));
+        });
+
+        // byte range from identity content
+        client.header("Accept-Encoding", "gzip");
+        client.header("Range", "bytes=0-9");
+        client.get("/www/app.js", rsp -> {
+          assertEquals(206, rsp.code());
+          assertNull(rsp.header("Content-Encoding"));
+          assertEquals("bytes 0-9/" + js.length(), rsp.header("Content-Range"));
+          assertEquals(js.substring(0, 10), rsp.body().string());
+        });
+
+        client.header("Range", "bytes=" + (js.length() + 10) + "-");
+        client.get("/www/app.js", rsp -> {
+          assertEquals(416, rsp.code());
+        });
+
+        client.header("Accept-Encoding", "gzip, br");
+        client.get("/www/logo.svg", rsp -> {
+          assertEquals("br", rsp.header("Content-Encoding"));
+          assertEquals("brotli", rsp.body().string());
+        });
+
+        // dev mode: reload on change
+        Path appjs = www.resolve("app.js");
+        Files.write(appjs, "changed".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(appjs, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        client.get("/www/app.js", rsp -> {
+          assertEquals("changed", rsp.body().string());
+        });
+      });
+
+      // precompressed content must not be compressed again by server
+      runner.define(app -> {
+        app.setServerOptions(new ServerOptions().setGzip(true));
+        app.assets("/www/?*", new AssetHandler(source).setCacheSize(1024 * 1024));
+      }).ready(client -> {
+        client.header("Accept-Encoding", "gzip, br");
+        client.get("/www/logo.svg", rsp -> {
+          assertEquals("br", rsp.header("Content-Encoding"));
+          assertEquals("brotli", rsp.body().string());
+        });
+      });
+    } finally {
+      FileUtils.deleteDirectory(www.toFile());
+    }
+  }
+
   @ServerTest
   public void staticSiteFromCpWithPrefixPathAndPrefixLocation(ServerTestRunner runner) {
     runner.define(app -> {
@@ -2796,6 +3187,11 @@ public class FeaturedTest {
 
       app.get("/render", ctx -> ctx.render(new HashMap<>()));
 
+      app.get("/buffers", ctx -> ctx.send(new ByteBuffer[]{
+          ByteBuffer.wrap("gather".getBytes(StandardCharsets.UTF_8)),
+          ByteBuffer.wrap("-write".getBytes(StandardCharsets.UTF_8))
+      }));
+
       app.assets("/?*",
           new AssetHandler("fallback.html", AssetSource.create(app.getClassLoader(), "/www")));
     }).ready(client -> {
@@ -2823,6 +3219,17 @@ public class FeaturedTest {
         assertEquals(200, rsp.code());
       });
 
+      client.head("/buffers", rsp -> {
+        assertEquals("12", rsp.header("Content-Length"));
+        assertEquals("", rsp.body().string());
+        assertEquals(200, rsp.code());
+      });
+
+      client.get("/buffers", rsp -> {
+        assertEquals("12", rsp.header("Content-Length"));
+        assertEquals("gather-write", rsp.body().string());
+      });
+
       String cl = String
           .valueOf(getClass().getResource("/www/foo.js").openConnection().getContentLength());
       client.head("/foo.js", rsp -> {
@@ -0,0 +1,144 @@
+package io.jooby;
+
+import io.jooby.junit.ServerTest;
+import io.jooby.junit.ServerTestRunner;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Http2Test {
+
+  private static final Path FILE = Paths.get(System.getProperty("user.dir"), "src", "test",
+      "resources", "files", "19kb.txt");
+
+  private static final String CONTENT = content();
+
+  @ServerTest
+  public void h2(ServerTestRunner runner) {
+    runner.define(app -> {
+      app.setServerOptions(new ServerOptions().setSecurePort(8433).setHttp2(true));
+
+      app.get("/", ctx -> ctx.getScheme() + ":" + ctx.getProtocol());
+
+      app.post("/echo", ctx -> ctx.body().value());
+
+      app.get("/large", ctx -> {
+        StringBuilder buff = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+          buff.append(i).append('\n');
+        }
+        return buff.toString();
+      });
+
+      app.get("/file", ctx -> FILE);
+
+      app.get("/stream", ctx -> new ByteArrayInputStream(Files.readAllBytes(FILE)));
+
+      app.assets("/static/?*", "/www");
+    }).ready((http, https) -> {
+      https.get("/", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals("https:HTTP/2.0", rsp.body().string());
+      });
+      https.post("/echo", RequestBody.create("h2 body", MediaType.get("text/plain")), rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals("h2 body", rsp.body().string());
+      });
+      https.get("/large", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals(5000, rsp.body().string().split("\n").length);
+      });
+
+      https.get("/file", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals(CONTENT, rsp.body().string());
+      });
+      https.get("/stream", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals(CONTENT, rsp.body().string());
+      });
+      https.get("/static/index.html", rsp -> {
+        assertEquals(Protocol.HTTP_2, rsp.protocol());
+        assertEquals("index.html", rsp.body().string().trim());
+      });
+
+      // HTTP/1.1 keeps working on cleartext port
+      http.get("/", rsp -> {
+        assertEquals(Protocol.HTTP_1_1, rsp.protocol());
+        assertEquals("http:HTTP/1.1", rsp.body().string());
+      });
+      http.get("/file", rsp -> {
+        assertEquals(Protocol.HTTP_1_1, rsp.protocol());
+        assertEquals(CONTENT, rsp.body().string());
+      });
+      http.get("/stream", rsp -> {
+        assertEquals(Protocol.HTTP_1_1, rsp.protocol());
+        assertEquals(CONTENT, rsp.body().string());
+      });
+      http.get("/static/index.html", rsp -> {
+        assertEquals(Protocol.HTTP_1_1, rsp.protocol());
+        assertEquals("index.html", rsp.body().string().trim());
+      });
+
+      // h2c with prior knowledge
+      OkHttpClient h2c = new OkHttpClient.Builder()
+          .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+          .readTimeout(30, TimeUnit.SECONDS)
+          .build();
+      try {
+        String url = "http://localhost:" + http.getPort();
+        try (Response rsp = h2c.newCall(new Request.Builder().url(url + "/").build()).execute()) {
+          assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+          assertEquals("http:HTTP/2.0", rsp.body().string());
+        }
+        try (Response rsp = h2c.newCall(new Request.Builder().url(url + "/echo")
+            .post(RequestBody.create("h2c body", MediaType.get("text/plain"))).build())
+            .execute()) {
+          assertEquals("h2c body", rsp.body().string());
+        }
+        try (Response rsp = h2c.newCall(new Request.Builder().url(url + "/large").build())
+            .execute()) {
+          assertEquals(5000, rsp.body().string().split("\n").length);
+        }
+        for (String path : Arrays.asList("/file", "/stream")) {
+          try (Response rsp = h2c.newCall(new Request.Builder().url(url + path).build())
+              .execute()) {
+            assertEquals(Protocol.H2_PRIOR_KNOWLEDGE, rsp.protocol());
+            assertEquals(CONTENT, rsp.body().string());
+          }
+        }
+        try (Response rsp = h2c.newCall(new Request.Builder().url(url + "/static/index.html")
+            .build()).execute()) {
+          assertEquals("index.html", rsp.body().string().trim());
+        }
+      } finally {
+        h2c.dispatcher().executorService().shutdown();
+        h2c.connectionPool().evictAll();
+      }
+    });
+  }
+
+  private static String content() {
+    try {
+      return new String(Files.readAllBytes(FILE), StandardCharsets.UTF_8);
+    } catch (IOException x) {
+      throw new UncheckedIOException(x);
+    }
+  }
+}
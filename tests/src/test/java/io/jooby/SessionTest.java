@@ -316,6 +316,45 @@ public class SessionTest {
     });
   }
 
+  @ServerTest
+  public void jsonwebtokenSessionCache(ServerTestRunner runner) {
+    JwtSessionStore store = new JwtSessionStore("7a85c3b6-3ef0-4625-82d3-a1da36094804")
+        .setCacheSize(10);
+    runner.define(app -> {
+      app.setSessionStore(store);
+      app.get("/session", ctx -> ctx.session().put("foo", "bar").toMap());
+
+      app.get("/ifsession", ctx -> {
+        Session session = ctx.sessionOrNull();
+        return session == null ? "<>" : session.toMap();
+      });
+    }).ready(client -> {
+      client.get("/session", rsp -> {
+        String sid = sid(rsp, "jooby.sid=");
+        long verifications = store.getVerificationCount();
+        long hits = store.getCacheHitCount();
+
+        client.header("Cookie", "jooby.sid=" + sid);
+        client.get("/ifsession", ifsession -> {
+          assertEquals("{foo=bar}", ifsession.body().string());
+        });
+        client.header("Cookie", "jooby.sid=" + sid);
+        client.get("/ifsession", ifsession -> {
+          assertEquals("{foo=bar}", ifsession.body().string());
+        });
+        // verified once, then found in cache
+        assertEquals(verifications + 1, store.getVerificationCount());
+        assertEquals(hits + 1, store.getCacheHitCount());
+        assertTrue(store.getCacheHitRatio() > 0);
+
+        client.header("Cookie", "jooby.sid=" + sid + "x");
+        client.get("/ifsession", ifsession -> {
+          assertEquals("<>", ifsession.body().string());
+        });
+      });
+    });
+  }
+
   private String sid(Response rsp, String prefix) {
     String setCookie = rsp.header("Set-Cookie");
     assertNotNull(setCookie);
@@ -2,11 +2,21 @@ package io.jooby;
 
 import io.jooby.freemarker.FreemarkerModule;
 import io.jooby.handlebars.HandlebarsModule;
+import io.jooby.rocker.RockerModule;
 import io.jooby.junit.ServerTest;
 import io.jooby.junit.ServerTestRunner;
 import io.jooby.thymeleaf.ThymeleafModule;
+import views.index;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.jooby.ExecutionMode.WORKER;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TemplateEngineTest {
   @ServerTest
@@ -84,4 +94,83 @@ public class TemplateEngineTest {
       });
     });
   }
+
+  @ServerTest
+  public void streamTemplateOutput(ServerTestRunner runner) {
+    List<String> small = items(10);
+    List<String> large = items(2000);
+    runner.define(app -> {
+      app.install(new FreemarkerModule());
+
+      app.get("/small", ctx -> new ModelAndView("list.ftl").put("items", small));
+      app.get("/large", ctx -> new ModelAndView("list.ftl").put("items", large));
+      app.get("/broken", ctx -> new ModelAndView("broken.ftl"));
+      app.get("/broken/large", ctx -> new ModelAndView("broken-list.ftl").put("items", large));
+    }).ready(client -> {
+      client.get("/small", rsp -> {
+        String body = String.join("\n", small) + "\n";
+        assertEquals(null, rsp.header("transfer-encoding"));
+        assertEquals(Integer.toString(body.getBytes(StandardCharsets.UTF_8).length),
+            rsp.header("content-length"));
+        assertEquals("text/html;charset=utf-8", rsp.header("content-type").toLowerCase());
+        assertEquals(body, rsp.body().string());
+      });
+      client.get("/large", rsp -> {
+        assertEquals("chunked", rsp.header("transfer-encoding").toLowerCase());
+        assertEquals(String.join("\n", large) + "\n", rsp.body().string());
+      });
+      client.get("/broken", rsp -> {
+        assertEquals(500, rsp.code());
+      });
+      // failure after output was sent: response is aborted
+      client.get("/broken/large", rsp -> {
+        assertEquals(200, rsp.code());
+        assertThrows(IOException.class, () -> rsp.body().string());
+      });
+      // connection is still usable
+      client.get("/small", rsp -> {
+        assertEquals(200, rsp.code());
+      });
+    });
+  }
+
+  /**
+   * Rocker output is sent as a gathering write: by the encoder (ctx.render) and by the response
+   * handler (route returns the model, HEAD goes through HeadContext.send(ByteBuffer[])). Worker
+   * mode only, rendering on IO threads encodes into a single byte array. The
+   * <code>views.index</code> template is generated from
+   * <code>src/test/rocker/views/index.rocker.html</code>.
+   */
+  @ServerTest(executionMode = WORKER)
+  public void rocker(ServerTestRunner runner) {
+    String body = "<p>Hello Rocker!</p>\n";
+    String length = Integer.toString(body.getBytes(StandardCharsets.UTF_8).length);
+    runner.define(app -> {
+      app.install(new RockerModule());
+      app.decorator(new HeadHandler());
+
+      app.get("/rocker/render", ctx -> ctx.render(index.template("Rocker")));
+      app.get("/rocker/handler", ctx -> index.template("Rocker"));
+    }).ready(client -> {
+      for (String path : new String[]{"/rocker/render", "/rocker/handler"}) {
+        client.get(path, rsp -> {
+          assertEquals(200, rsp.code());
+          assertEquals("text/html;charset=utf-8", rsp.header("content-type").toLowerCase());
+          assertEquals(length, rsp.header("content-length"));
+          assertEquals(body, rsp.body().string());
+        });
+        client.head(path, rsp -> {
+          assertEquals(200, rsp.code());
+          assertEquals(length, rsp.header("content-length"));
+          assertEquals("", rsp.body().string());
+        });
+      }
+    });
+  }
+
+  private static List<String> items(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> "item " + i + " áéíóú")
+        .collect(Collectors.toList());
+  }
 }
@@ -103,6 +103,10 @@ public class WebClient implements AutoCloseable {
       return listener.lastMessage();
     }
 
+    public String lastMessage() {
+      return listener.lastMessage();
+    }
+
     public void close() {
       if (listener.closed.compareAndSet(false, true)) {
         ws.close(WebSocketCloseStatus.NORMAL_CODE, WebSocketCloseStatus.NORMAL.getReason());
@@ -80,6 +80,44 @@ public class WebSocketTest {
     });
   }
 
+  @ServerTest
+  public void webSocketBroadcast(ServerTestRunner runner) {
+    runner.define(app -> {
+      app.install(new JacksonModule());
+
+      app.ws("/wsbroadcast", (ctx, initializer) -> {
+        initializer.onMessage((ws, message) -> {
+          if (message.value().startsWith("{")) {
+            ws.render(message.to(JsonNode.class), true);
+          } else {
+            ws.send("broadcast:" + message.value(), true);
+          }
+        });
+      });
+
+    }).ready(client -> {
+      client.syncWebSocket("/wsbroadcast", ws1 -> {
+        // first round trip makes sure ws1 is connected
+        assertEquals("broadcast:first", ws1.send("first"));
+
+        client.syncWebSocket("/wsbroadcast", ws2 -> {
+          assertEquals("{\"message\":\"Hello JSON!\"}",
+              ws2.send("{\"message\" : \"Hello JSON!\"}"));
+          assertEquals("{\"message\":\"Hello JSON!\"}", ws1.lastMessage());
+
+          assertEquals("broadcast:text", ws2.send("text"));
+          assertEquals("broadcast:text", ws1.lastMessage());
+
+          assertEquals("broadcast:back", ws1.send("back"));
+          assertEquals("broadcast:back", ws2.lastMessage());
+
+          assertEquals("{\"message\":\"Again\"}", ws1.send("{\"message\" : \"Again\"}"));
+          assertEquals("{\"message\":\"Again\"}", ws2.lastMessage());
+        });
+      });
+    });
+  }
+
   private String sid(String setCookie) {
     return setCookie.substring("jooby.sid=".length(), setCookie.indexOf(';'));
   }
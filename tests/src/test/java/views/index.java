@@ -0,0 +1,94 @@
+package views;
+
+import java.io.IOException;
+import com.fizzed.rocker.ForIterator;
+import com.fizzed.rocker.RenderingException;
+import com.fizzed.rocker.RockerContent;
+import com.fizzed.rocker.RockerOutput;
+import com.fizzed.rocker.runtime.DefaultRockerTemplate;
+import com.fizzed.rocker.runtime.PlainTextUnloadedClassLoader;
+
+/*
+ * Auto generated code to render template views/index.rocker.html
+ * Do not edit this file. Changes will eventually be overwritten by Rocker parser!
+ */
+@SuppressWarnings("unused")
+public class index extends com.fizzed.rocker.runtime.DefaultRockerModel {
+
+    static public com.fizzed.rocker.ContentType getContentType() { return com.fizzed.rocker.ContentType.HTML; }
+    static public String getTemplateName() { return "index.rocker.html"; }
+    static public String getTemplatePackageName() { return "views"; }
+    static public String getHeaderHash() { return "973482035"; }
+    static public long getModifiedAt() { return 1792240099612L; }
+    static public String[] getArgumentNames() { return new String[] { "message" }; }
+
+    // argument @ [1:2]
+    private String message;
+
+    public index message(String message) {
+        this.message = message;
+        return this;
+    }
+
+    public String message() {
+        return this.message;
+    }
+
+    static public index template(String message) {
+        return new index()
+            .message(message);
+    }
+
+    @Override
+    protected DefaultRockerTemplate buildTemplate() throws RenderingException {
+        // optimized for convenience (runtime auto reloading enabled if rocker.reloading=true)
+        return com.fizzed.rocker.runtime.RockerRuntime.getInstance().getBootstrap().template(this.getClass(), this);
+    }
+
+    static public class Template extends com.fizzed.rocker.runtime.DefaultRockerTemplate {
+
+        // <p>Hello 
+        static private final byte[] PLAIN_TEXT_0_0;
+        // !</p>\n
+        static private final byte[] PLAIN_TEXT_1_0;
+
+        static {
+            PlainTextUnloadedClassLoader loader = PlainTextUnloadedClassLoader.tryLoad(index.class.getClassLoader(), index.class.getName() + "$PlainText", "UTF-8");
+            PLAIN_TEXT_0_0 = loader.tryGet("PLAIN_TEXT_0_0");
+            PLAIN_TEXT_1_0 = loader.tryGet("PLAIN_TEXT_1_0");
+        }
+
+        // argument @ [1:2]
+        protected final String message;
+
+        public Template(index model) {
+            super(model);
+            __internal.setCharset("UTF-8");
+            __internal.setContentType(getContentType());
+            __internal.setTemplateName(getTemplateName());
+            __internal.setTemplatePackageName(getTemplatePackageName());
+            this.message = model.message();
+        }
+
+        @Override
+        protected void __doRender() throws IOException, RenderingException {
+            // PlainText @ [1:23]
+            __internal.aboutToExecutePosInTemplate(1, 23);
+            __internal.writeValue(PLAIN_TEXT_0_0);
+            // ValueExpression @ [2:10]
+            __internal.aboutToExecutePosInTemplate(2, 10);
+            __internal.renderValue(message, false);
+            // PlainText @ [2:18]
+            __internal.aboutToExecutePosInTemplate(2, 18);
+            __internal.writeValue(PLAIN_TEXT_1_0);
+        }
+    }
+
+    private static class PlainText {
+
+        static private final String PLAIN_TEXT_0_0 = "<p>Hello ";
+        static private final String PLAIN_TEXT_1_0 = "!</p>\n";
+
+    }
+
+}